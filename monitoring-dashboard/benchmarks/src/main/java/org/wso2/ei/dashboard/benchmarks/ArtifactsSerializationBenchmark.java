@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.benchmarks;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.ei.dashboard.core.rest.model.ArtifactDetails;
+import org.wso2.ei.dashboard.core.rest.model.Artifacts;
+import org.wso2.ei.dashboard.core.rest.model.ArtifactsInner;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Gson serialization of an artifact listing, the response body of the artifact list resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactsSerializationBenchmark {
+
+    @Param({"1", "10"})
+    private int nodeCount;
+
+    @Param({"100", "3000"})
+    private int artifactCount;
+
+    private final Gson gson = new Gson();
+    private Artifacts artifacts;
+
+    @Setup
+    public void setUp() {
+        artifacts = new Artifacts();
+        for (int i = 0; i < artifactCount; i++) {
+            String name = String.format("proxy_%05d", i);
+            ArtifactsInner artifactsInner = new ArtifactsInner().name(name);
+            for (int j = 0; j < nodeCount; j++) {
+                String details = "{\"name\":\"" + name + "\",\"wsdl1_1\":\"http://localhost:8290/services/" + name
+                                 + "?wsdl\",\"stats\":\"disabled\",\"tracing\":\"disabled\",\"isRunning\":true}";
+                artifactsInner.getNodes().add(new ArtifactDetails().nodeId("node_" + j).details(details));
+            }
+            artifacts.add(artifactsInner);
+        }
+    }
+
+    @Benchmark
+    public String toJson() {
+        return gson.toJson(artifacts);
+    }
+}
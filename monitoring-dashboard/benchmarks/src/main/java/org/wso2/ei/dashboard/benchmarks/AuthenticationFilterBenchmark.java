@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.benchmarks;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.ei.dashboard.core.commons.auth.AuthenticationFilter;
+import org.wso2.ei.dashboard.core.commons.auth.TokenCache;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.HttpHeaders;
+
+/**
+ * Measures the per request cost of {@link AuthenticationFilter} for a token issued by the in-memory user store, on a
+ * regular resource and on an admin only resource which also parses the token to check the scope.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationFilterBenchmark {
+
+    private static final URI BASE_URI = URI.create("https://localhost:9743/dashboard/api/");
+
+    private AuthenticationFilter authenticationFilter;
+    private ContainerRequest resourceRequest;
+    private ContainerRequest adminResourceRequest;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String token = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                       + encoder.encodeToString("{\"sub\":\"admin\",\"scope\":\"admin\"}"
+                                                        .getBytes(StandardCharsets.UTF_8)) + ".signature";
+        TokenCache.getInstance().putToken(token, token);
+
+        authenticationFilter = new AuthenticationFilter();
+        Field servletRequest = AuthenticationFilter.class.getDeclaredField("servletRequest");
+        servletRequest.setAccessible(true);
+        servletRequest.set(authenticationFilter, createServletRequest());
+
+        resourceRequest = createRequest("groups/mi_dev/proxy-services", token);
+        adminResourceRequest = createRequest("groups/mi_dev/users", token);
+    }
+
+    @Benchmark
+    public ContainerRequest filterResource() {
+        authenticationFilter.filter(resourceRequest);
+        return resourceRequest;
+    }
+
+    @Benchmark
+    public ContainerRequest filterAdminResource() {
+        authenticationFilter.filter(adminResourceRequest);
+        return adminResourceRequest;
+    }
+
+    private static ContainerRequest createRequest(String path, String token) {
+        ContainerRequest request = new ContainerRequest(BASE_URI, BASE_URI.resolve(path), "GET", null,
+                                                        new MapPropertiesDelegate());
+        request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+
+    /**
+     * Creates a servlet request whose servlet context holds no SSO configuration, as in a dashboard without SSO.
+     */
+    private static HttpServletRequest createServletRequest() {
+        ClassLoader classLoader = AuthenticationFilterBenchmark.class.getClassLoader();
+        ServletContext servletContext = (ServletContext) Proxy.newProxyInstance(
+                classLoader, new Class<?>[]{ServletContext.class}, (proxy, method, args) -> null);
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                classLoader, new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> "getServletContext".equals(method.getName()) ? servletContext : null);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.benchmarks;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Common set up of the benchmarks. The benchmarks run against the in-memory H2 database of the dashboard, created
+ * from the db scripts shipped with the distribution, so they do not need a running dashboard or micro integrator.
+ */
+public final class BenchmarkUtils {
+
+    private static final String DASHBOARD_HOME = "dashboard.home";
+    private static final String HEARTBEAT_POOL_SIZE = "heartbeat_pool_size";
+    private static final String ARTIFACT_SYNC_POOL_SIZE = "artifact_sync_pool_size";
+    private static final String NODE_BROADCAST_POOL_SIZE = "node_broadcast_pool_size";
+    private static final String LOG_TAIL_POOL_SIZE = "log_tail_pool_size";
+    private static final String DEFAULT_POOL_SIZE = "10";
+
+    private BenchmarkUtils() {
+
+    }
+
+    /**
+     * Points the dashboard home to the distribution resources of the source tree unless it is already set. This
+     * has to run before any dashboard class reads the database configuration.
+     */
+    public static void initDashboardHome() {
+        if (System.getProperty(DASHBOARD_HOME) == null) {
+            Path resources = Paths.get("..", "distribution", "src", "main", "resources").toAbsolutePath().normalize();
+            System.setProperty(DASHBOARD_HOME, resources.toString());
+        }
+        File dbScript = Paths.get(System.getProperty(DASHBOARD_HOME), "dbscripts", "h2.sql").toFile();
+        if (!dbScript.exists()) {
+            throw new IllegalStateException("Cannot find " + dbScript + ". Run the benchmarks from the benchmarks "
+                                            + "directory or set -D" + DASHBOARD_HOME + ".");
+        }
+    }
+
+    /**
+     * Sets the executor pool sizes which the dashboard server reads from deployment.toml, unless they are already
+     * set. This has to run before the executor services of the dashboard are first used.
+     */
+    public static void initExecutorServices() {
+        if (System.getProperty(HEARTBEAT_POOL_SIZE) == null) {
+            System.setProperty(HEARTBEAT_POOL_SIZE, DEFAULT_POOL_SIZE);
+        }
+        if (System.getProperty(ARTIFACT_SYNC_POOL_SIZE) == null) {
+            System.setProperty(ARTIFACT_SYNC_POOL_SIZE, DEFAULT_POOL_SIZE);
+        }
+        if (System.getProperty(NODE_BROADCAST_POOL_SIZE) == null) {
+            System.setProperty(NODE_BROADCAST_POOL_SIZE, DEFAULT_POOL_SIZE);
+        }
+        if (System.getProperty(LOG_TAIL_POOL_SIZE) == null) {
+            System.setProperty(LOG_TAIL_POOL_SIZE, DEFAULT_POOL_SIZE);
+        }
+    }
+}
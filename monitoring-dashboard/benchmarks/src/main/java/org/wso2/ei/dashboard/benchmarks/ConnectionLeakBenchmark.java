@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.pool.PoolStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
+import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+import org.wso2.ei.dashboard.micro.integrator.commons.Utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress test of the management API client. More threads than there are pooled connections per node send requests
+ * to a local stub micro integrator which answers with artifact lists, error responses and bodies which fail to
+ * parse. A connection which is not returned to the pool stalls the other threads until the connection request times
+ * out, and the check after each iteration fails the run if any connection is still leased. The stub node never sends
+ * a heartbeat, so its requests are only subject to the circuit breaker of the node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(64)
+public class ConnectionLeakBenchmark {
+
+    private static final String GROUP_ID = "benchmark_group";
+    private static final String NODE_ID = "benchmark_node";
+    private static final String ACCESS_TOKEN = "access_token";
+    private static final int ARTIFACT_COUNT = 100;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String successUrl;
+    private String errorUrl;
+    private String malformedUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkUtils.initDashboardHome();
+        BenchmarkUtils.initExecutorServices();
+
+        byte[] proxyList = createProxyList().toString().getBytes(StandardCharsets.UTF_8);
+        JsonObject error = new JsonObject();
+        error.addProperty("Error", "Proxy service not found");
+        byte[] errorBody = error.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] malformedBody = "{\"list\": [".getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/management/proxy-services", exchange -> respond(exchange, 200, proxyList));
+        server.createContext("/management/error", exchange -> respond(exchange, 500, errorBody));
+        server.createContext("/management/malformed", exchange -> respond(exchange, 200, malformedBody));
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        String mgtApiUrl = "http://localhost:" + server.getAddress().getPort() + "/management/";
+        successUrl = mgtApiUrl + "proxy-services";
+        errorUrl = mgtApiUrl + "error";
+        malformedUrl = mgtApiUrl + "malformed";
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkLeasedConnections() {
+        PoolStats stats = HttpUtils.getPoolStats();
+        if (stats.getLeased() != 0) {
+            throw new IllegalStateException("Connections were not returned to the pool: " + stats);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public JsonObject success() throws ManagementApiException {
+        return Utils.doGet(GROUP_ID, NODE_ID, ACCESS_TOKEN, successUrl, HttpUtils::getJsonResponse);
+    }
+
+    @Benchmark
+    public String errorResponse() {
+        try {
+            Utils.doGet(GROUP_ID, NODE_ID, ACCESS_TOKEN, errorUrl, HttpUtils::getJsonResponse);
+        } catch (ManagementApiException e) {
+            return e.getMessage();
+        }
+        throw new IllegalStateException("Error response of the node was not reported.");
+    }
+
+    @Benchmark
+    public String failingHandler() throws ManagementApiException {
+        try {
+            Utils.doGet(GROUP_ID, NODE_ID, ACCESS_TOKEN, malformedUrl, HttpUtils::getJsonResponse);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+        throw new IllegalStateException("Malformed response of the node was parsed.");
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    private static JsonObject createProxyList() {
+        JsonArray list = new JsonArray();
+        for (int i = 0; i < ARTIFACT_COUNT; i++) {
+            JsonObject proxy = new JsonObject();
+            String name = String.format("proxy_%05d", i);
+            proxy.addProperty("name", name);
+            proxy.addProperty("url", "http://localhost:8290/services/" + name);
+            list.add(proxy);
+        }
+        JsonObject proxyList = new JsonObject();
+        proxyList.addProperty("count", ARTIFACT_COUNT);
+        proxyList.add("list", list);
+        return proxyList;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.benchmarks;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.ei.dashboard.core.commons.Constants;
+import org.wso2.ei.dashboard.core.db.manager.ArtifactRecord;
+import org.wso2.ei.dashboard.core.db.manager.CachedDatabaseManager;
+import org.wso2.ei.dashboard.core.db.manager.JDBCDatabaseManager;
+import org.wso2.ei.dashboard.core.rest.model.ArtifactDetails;
+import org.wso2.ei.dashboard.core.rest.model.Artifacts;
+import org.wso2.ei.dashboard.core.rest.model.ArtifactsInner;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures listing the artifacts of a group, comparing the single ordered query of
+ * {@link JDBCDatabaseManager#fetchArtifacts(String, String, List)} against the previous implementation which ran one
+ * details query per distinct artifact name, and against the in-memory index of {@link CachedDatabaseManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FetchArtifactsBenchmark {
+
+    private static final String GROUP_ID = "benchmark_group";
+    private static final String ARTIFACT_TYPE = Constants.PROXY_SERVICES;
+    private static final String TABLE_NAME = "PROXY_SERVICES";
+
+    @Param({"1", "10"})
+    private int nodeCount;
+
+    @Param({"100", "3000"})
+    private int artifactCount;
+
+    private JDBCDatabaseManager databaseManager;
+    private CachedDatabaseManager cachedDatabaseManager;
+    private HikariDataSource dataSource;
+    private List<String> nodeList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkUtils.initDashboardHome();
+        databaseManager = new JDBCDatabaseManager();
+        cachedDatabaseManager = new CachedDatabaseManager(databaseManager);
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(Constants.DATABASE_URL.replace("\\", "\\\\"));
+        config.setUsername(Constants.DATABASE_USERNAME);
+        config.setPassword(Constants.DATABASE_PASSWORD);
+        dataSource = new HikariDataSource(config);
+
+        nodeList = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            String nodeId = "node_" + i;
+            nodeList.add(nodeId);
+            cachedDatabaseManager.insertArtifacts(GROUP_ID, nodeId, ARTIFACT_TYPE, createArtifacts());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (String nodeId : nodeList) {
+            cachedDatabaseManager.deleteAllArtifacts(ARTIFACT_TYPE, GROUP_ID, nodeId);
+        }
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Artifacts singleQuery() {
+        return databaseManager.fetchArtifacts(ARTIFACT_TYPE, GROUP_ID, nodeList);
+    }
+
+    @Benchmark
+    public Artifacts cached() {
+        return cachedDatabaseManager.fetchArtifacts(ARTIFACT_TYPE, GROUP_ID, nodeList);
+    }
+
+    @Benchmark
+    public Artifacts queryPerArtifact() throws SQLException {
+        return fetchArtifactsWithQueryPerArtifact();
+    }
+
+    private List<ArtifactRecord> createArtifacts() {
+        List<ArtifactRecord> artifacts = new ArrayList<>(artifactCount);
+        for (int i = 0; i < artifactCount; i++) {
+            String name = String.format("proxy_%05d", i);
+            String details = "{\"name\":\"" + name + "\",\"wsdl1_1\":\"http://localhost:8290/services/" + name
+                             + "?wsdl\",\"wsdl2_0\":\"http://localhost:8290/services/" + name + "?wsdl2\","
+                             + "\"stats\":\"disabled\",\"tracing\":\"disabled\",\"isRunning\":true}";
+            artifacts.add(new ArtifactRecord(name, details));
+        }
+        return artifacts;
+    }
+
+    /**
+     * The listing as implemented before the single query, kept here as the baseline of the comparison.
+     */
+    private Artifacts fetchArtifactsWithQueryPerArtifact() throws SQLException {
+        StringBuilder nodeSearch = new StringBuilder();
+        for (int i = 0; i < nodeList.size(); i++) {
+            nodeSearch.append(i == 0 ? "NODE_ID=?" : " OR NODE_ID=?");
+        }
+        String getDistinctNamesQuery = "SELECT DISTINCT NAME FROM " + TABLE_NAME + " WHERE GROUP_ID=? AND ("
+                                       + nodeSearch + ");";
+        String getDetailsQuery = "SELECT NODE_ID, DETAILS FROM " + TABLE_NAME + " WHERE NAME=? AND GROUP_ID=? AND ("
+                                 + nodeSearch + ");";
+        Artifacts artifacts = new Artifacts();
+        try (
+                Connection con = dataSource.getConnection();
+                PreparedStatement statement = con.prepareStatement(getDistinctNamesQuery);
+        ) {
+            statement.setString(1, GROUP_ID);
+            for (int i = 0, j = 2; i < nodeList.size(); i++, j++) {
+                statement.setString(j, nodeList.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ArtifactsInner artifactsInner = new ArtifactsInner();
+                    String artifactName = resultSet.getString("NAME");
+                    artifactsInner.setName(artifactName);
+                    artifactsInner.setNodes(getArtifactDetails(getDetailsQuery, artifactName));
+                    artifacts.add(artifactsInner);
+                }
+            }
+        }
+        return artifacts;
+    }
+
+    private List<ArtifactDetails> getArtifactDetails(String query, String artifactName) throws SQLException {
+        try (
+                Connection con = dataSource.getConnection();
+                PreparedStatement statement = con.prepareStatement(query);
+        ) {
+            statement.setString(1, artifactName);
+            statement.setString(2, GROUP_ID);
+            for (int i = 0, j = 3; i < nodeList.size(); i++, j++) {
+                statement.setString(j, nodeList.get(i));
+            }
+            List<ArtifactDetails> artifactDetailsList = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ArtifactDetails artifactDetails = new ArtifactDetails();
+                    artifactDetails.setNodeId(resultSet.getString("NODE_ID"));
+                    artifactDetails.setDetails(resultSet.getString("DETAILS"));
+                    artifactDetailsList.add(artifactDetails);
+                }
+            }
+            return artifactDetailsList;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
+import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
+import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+import org.wso2.ei.dashboard.core.rest.delegates.heartbeat.HeartBeatDelegate;
+import org.wso2.ei.dashboard.core.rest.delegates.heartbeat.HeartbeatObject;
+import org.wso2.ei.dashboard.core.rest.model.Ack;
+import org.wso2.ei.dashboard.core.rest.model.HeartbeatRequest;
+import org.wso2.ei.dashboard.core.rest.model.HeartbeatRequestChangeNotification;
+import org.wso2.micro.integrator.dashboard.utils.ExecutorServiceHolder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the throughput of heartbeats of registered nodes without artifact changes, which is the steady state load
+ * of the dashboard. The nodes are registered directly so that no management API is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class HeartbeatBenchmark {
+
+    private static final String GROUP_ID = "benchmark_group";
+    private static final String PRODUCT_MI = "mi";
+    private static final String MGT_API_URL = "https://localhost:9164/management/";
+    // Long enough for the nodes not to expire while the benchmark runs.
+    private static final int HEARTBEAT_INTERVAL = 3600;
+
+    @Param({"1", "100"})
+    private int nodeCount;
+
+    private HeartbeatRequest[] heartbeatRequests;
+    private final AtomicInteger nextNode = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkUtils.initDashboardHome();
+        BenchmarkUtils.initExecutorServices();
+        DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
+        heartbeatRequests = new HeartbeatRequest[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            String nodeId = "heartbeat_node_" + i;
+            HeartbeatObject heartbeat = new HeartbeatObject(PRODUCT_MI, GROUP_ID, nodeId, HEARTBEAT_INTERVAL,
+                                                            MGT_API_URL, System.currentTimeMillis(), null, null,
+                                                            null);
+            if (databaseManager.retrieveTimestampOfLastHeartbeat(GROUP_ID, nodeId) == null) {
+                databaseManager.insertHeartbeat(heartbeat, "access_token");
+                HeartBeatDelegate.getLivenessTracker().registerNode(heartbeat);
+            }
+            heartbeatRequests[i] = new HeartbeatRequest().product(PRODUCT_MI).groupId(GROUP_ID).nodeId(nodeId)
+                                                         .interval(HEARTBEAT_INTERVAL).mgtApiUrl(MGT_API_URL)
+                                                         .changeNotification(
+                                                                 new HeartbeatRequestChangeNotification());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // The executor threads of the dashboard would otherwise keep the benchmark JVM alive.
+        ExecutorServiceHolder.getNodeLivenessExecutorService().shutdownNow();
+        ExecutorServiceHolder.getMiArtifactsManagerExecutorService().shutdownNow();
+        ExecutorServiceHolder.getArtifactSyncExecutorService().shutdownNow();
+    }
+
+    @Benchmark
+    public Ack processHeartbeat() throws ManagementApiException {
+        int node = Math.floorMod(nextNode.getAndIncrement(), nodeCount);
+        return new HeartBeatDelegate().processHeartbeat(heartbeatRequests[node]);
+    }
+}
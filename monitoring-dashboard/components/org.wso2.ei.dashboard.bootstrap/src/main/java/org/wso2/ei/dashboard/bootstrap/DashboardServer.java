@@ -46,6 +46,7 @@ import org.wso2.micro.integrator.dashboard.utils.ExecutorServiceHolder;
 import org.wso2.micro.integrator.dashboard.utils.SSOConfig;
 import org.wso2.micro.integrator.dashboard.utils.SSOConfigException;
 import org.wso2.micro.integrator.dashboard.utils.SSOConstants;
+import org.wso2.micro.integrator.dashboard.utils.VirtualThreads;
 import org.wso2.securevault.SecretResolver;
 import org.wso2.securevault.SecretResolverFactory;
 import org.wso2.securevault.commons.MiscellaneousUtil;
@@ -87,6 +88,39 @@ public class DashboardServer {
     private static final String MI_USERNAME = "mi_username";
     private static final String MI_PASSWORD = "mi_password";
     private static final String TOML_CONF_HEARTBEAT_POOL_SIZE = "heartbeat_config.pool_size";
+    private static final String TOML_CONF_ARTIFACT_SYNC_POOL_SIZE = "artifact_sync_config.pool_size";
+    private static final String TOML_CONF_MAX_CONCURRENT_REQUESTS_PER_NODE =
+            "artifact_sync_config.max_concurrent_requests_per_node";
+    private static final String TOML_CONF_NODE_BROADCAST_POOL_SIZE = "node_broadcast_config.pool_size";
+    private static final String TOML_CONF_NODE_BROADCAST_TIMEOUT = "node_broadcast_config.timeout";
+    private static final String TOML_CONF_LOG_TAIL_POOL_SIZE = "log_tail_config.pool_size";
+    private static final String TOML_CONF_LOG_TAIL_POLL_INTERVAL = "log_tail_config.poll_interval";
+    private static final String TOML_CONF_ARTIFACT_RETRY_QUEUE_SIZE = "artifact_retry_config.queue_size";
+    private static final String TOML_CONF_ARTIFACT_RETRY_MAX_ATTEMPTS = "artifact_retry_config.max_attempts";
+    private static final String TOML_CONF_ARTIFACT_RETRY_INITIAL_DELAY = "artifact_retry_config.initial_delay";
+    private static final String TOML_CONF_ARTIFACT_RETRY_MAX_DELAY = "artifact_retry_config.max_delay";
+    private static final String TOML_CONF_MGT_API_MAX_CONNECTIONS = "mgt_api_client_config.max_connections";
+    private static final String TOML_CONF_MGT_API_MAX_CONNECTIONS_PER_NODE =
+            "mgt_api_client_config.max_connections_per_node";
+    private static final String TOML_CONF_MGT_API_IDLE_CONNECTION_TIMEOUT =
+            "mgt_api_client_config.idle_connection_timeout";
+    private static final String TOML_CONF_MGT_API_KEEP_ALIVE_TIMEOUT = "mgt_api_client_config.keep_alive_timeout";
+    private static final String TOML_CONF_MGT_API_CONNECTION_REQUEST_TIMEOUT =
+            "mgt_api_client_config.connection_request_timeout";
+    private static final String TOML_CONF_MGT_API_TOKEN_REFRESH_BEFORE_EXPIRY =
+            "mgt_api_client_config.token_refresh_before_expiry";
+    private static final String TOML_CONF_MGT_API_CONNECT_TIMEOUT = "mgt_api_client_config.connect_timeout";
+    private static final String TOML_CONF_MGT_API_SOCKET_TIMEOUT = "mgt_api_client_config.socket_timeout";
+    private static final String TOML_CONF_CIRCUIT_BREAKER_WINDOW_SIZE = "circuit_breaker_config.window_size";
+    private static final String TOML_CONF_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD =
+            "circuit_breaker_config.failure_rate_threshold";
+    private static final String TOML_CONF_CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD =
+            "circuit_breaker_config.slow_call_threshold";
+    private static final String TOML_CONF_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD =
+            "circuit_breaker_config.slow_call_rate_threshold";
+    private static final String TOML_CONF_CIRCUIT_BREAKER_OPEN_DURATION = "circuit_breaker_config.open_duration";
+    private static final String TOML_CONF_CAPPS_CACHE_TTL = "capps_config.cache_ttl";
+    private static final String TOML_CONF_VIRTUAL_THREADS_ENABLE = "virtual_threads_config.enable";
     private static final String SERVER_DIR = "server";
     private static final String WEBAPPS_DIR = "webapps";
     private static final String WWW_DIR = "www";
@@ -106,6 +140,30 @@ public class DashboardServer {
     private static final String CARBON_CONFIG_DIR = "carbon.config.dir.path";
     private static final int EXECUTOR_SERVICE_TERMINATION_TIMEOUT = 5000;
     private static final int DEFAULT_HEARTBEAT_POOL_SIZE = 10;
+    private static final int DEFAULT_ARTIFACT_SYNC_POOL_SIZE = 20;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS_PER_NODE = 10;
+    private static final int DEFAULT_NODE_BROADCAST_POOL_SIZE = 20;
+    private static final int DEFAULT_NODE_BROADCAST_TIMEOUT = 10000;
+    private static final int DEFAULT_LOG_TAIL_POOL_SIZE = 4;
+    private static final int DEFAULT_LOG_TAIL_POLL_INTERVAL = 1000;
+    private static final int DEFAULT_ARTIFACT_RETRY_QUEUE_SIZE = 10000;
+    private static final int DEFAULT_ARTIFACT_RETRY_MAX_ATTEMPTS = 5;
+    private static final int DEFAULT_ARTIFACT_RETRY_INITIAL_DELAY = 1000;
+    private static final int DEFAULT_ARTIFACT_RETRY_MAX_DELAY = 300000;
+    private static final int DEFAULT_MGT_API_MAX_CONNECTIONS = 200;
+    private static final int DEFAULT_MGT_API_MAX_CONNECTIONS_PER_NODE = 20;
+    private static final int DEFAULT_MGT_API_IDLE_CONNECTION_TIMEOUT = 30000;
+    private static final int DEFAULT_MGT_API_KEEP_ALIVE_TIMEOUT = 30000;
+    private static final int DEFAULT_MGT_API_CONNECTION_REQUEST_TIMEOUT = 10000;
+    private static final int DEFAULT_MGT_API_TOKEN_REFRESH_BEFORE_EXPIRY = 60000;
+    private static final int DEFAULT_MGT_API_CONNECT_TIMEOUT = 10000;
+    private static final int DEFAULT_MGT_API_SOCKET_TIMEOUT = 60000;
+    private static final int DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE = 20;
+    private static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = 50;
+    private static final int DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD = 10000;
+    private static final int DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD = 80;
+    private static final int DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = 30000;
+    private static final int DEFAULT_CAPPS_CACHE_TTL = 5000;
     private static String keyStorePassword;
     private static String keyManagerPassword;
     private static String jksFileLocation;
@@ -143,7 +201,7 @@ public class DashboardServer {
             logger.error("Error while reading TOML file configs", e);
         }
 
-        Server server = new Server();
+        Server server = createServer();
         setServerConnectors(serverPort, server, DASHBOARD_HOME);
         setServerHandlers(DASHBOARD_HOME, server);
         addShutdownHook();
@@ -174,7 +232,19 @@ public class DashboardServer {
         if (logger.isDebugEnabled()) {
             logger.debug("Shutting down MI Dashboard Server...");
         }
-        ExecutorService executorService = ExecutorServiceHolder.getMiArtifactsManagerExecutorService();
+        // The liveness sweeper, the log tail pollers, the JWKS refresher and the artifact retry worker run until
+        // they are stopped, hence they are interrupted right away.
+        ExecutorServiceHolder.getNodeLivenessExecutorService().shutdownNow();
+        ExecutorServiceHolder.getLogTailExecutorService().shutdownNow();
+        ExecutorServiceHolder.getJwksRefreshExecutorService().shutdownNow();
+        ExecutorServiceHolder.getArtifactRetryExecutorService().shutdownNow();
+        shutdownExecutorService(ExecutorServiceHolder.getMiArtifactsManagerExecutorService());
+        shutdownExecutorService(ExecutorServiceHolder.getArtifactSyncExecutorService());
+        shutdownExecutorService(ExecutorServiceHolder.getNodeBroadcastExecutorService());
+        shutdownExecutorService(ExecutorServiceHolder.getTokenRefreshExecutorService());
+    }
+
+    private void shutdownExecutorService(ExecutorService executorService) {
         executorService.shutdown();
         try {
             if (!executorService.awaitTermination(EXECUTOR_SERVICE_TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS)) {
@@ -185,6 +255,18 @@ public class DashboardServer {
         }
     }
 
+    private Server createServer() {
+        if (Boolean.getBoolean(Constants.VIRTUAL_THREADS_ENABLED)) {
+            if (VirtualThreads.isSupported()) {
+                logger.info("Handling requests and artifact syncs on virtual threads");
+                return new Server(new VirtualThreadPool());
+            }
+            logger.warn("Virtual threads are enabled but not supported by the running JVM. Java 21 or later is "
+                        + "required, hence falling back to the thread pools");
+        }
+        return new Server();
+    }
+
     private void setServerConnectors(int serverPort, Server server, String dashboardHome) {
 
         HttpConfiguration https = new HttpConfiguration();
@@ -256,6 +338,61 @@ public class DashboardServer {
         Properties properties = System.getProperties();
         properties.put(Constants.HEARTBEAT_POOL_SIZE, heartbeatPoolSize);
 
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_ARTIFACT_SYNC_POOL_SIZE,
+                          Constants.ARTIFACT_SYNC_POOL_SIZE, DEFAULT_ARTIFACT_SYNC_POOL_SIZE);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_MAX_CONCURRENT_REQUESTS_PER_NODE,
+                          Constants.MAX_CONCURRENT_REQUESTS_PER_NODE, DEFAULT_MAX_CONCURRENT_REQUESTS_PER_NODE);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_NODE_BROADCAST_POOL_SIZE,
+                          Constants.NODE_BROADCAST_POOL_SIZE, DEFAULT_NODE_BROADCAST_POOL_SIZE);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_NODE_BROADCAST_TIMEOUT,
+                          Constants.NODE_BROADCAST_TIMEOUT, DEFAULT_NODE_BROADCAST_TIMEOUT);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_LOG_TAIL_POOL_SIZE,
+                          Constants.LOG_TAIL_POOL_SIZE, DEFAULT_LOG_TAIL_POOL_SIZE);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_LOG_TAIL_POLL_INTERVAL,
+                          Constants.LOG_TAIL_POLL_INTERVAL, DEFAULT_LOG_TAIL_POLL_INTERVAL);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_ARTIFACT_RETRY_QUEUE_SIZE,
+                          Constants.ARTIFACT_RETRY_QUEUE_SIZE, DEFAULT_ARTIFACT_RETRY_QUEUE_SIZE);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_ARTIFACT_RETRY_MAX_ATTEMPTS,
+                          Constants.ARTIFACT_RETRY_MAX_ATTEMPTS, DEFAULT_ARTIFACT_RETRY_MAX_ATTEMPTS);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_ARTIFACT_RETRY_INITIAL_DELAY,
+                          Constants.ARTIFACT_RETRY_INITIAL_DELAY, DEFAULT_ARTIFACT_RETRY_INITIAL_DELAY);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_ARTIFACT_RETRY_MAX_DELAY,
+                          Constants.ARTIFACT_RETRY_MAX_DELAY, DEFAULT_ARTIFACT_RETRY_MAX_DELAY);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_MGT_API_MAX_CONNECTIONS,
+                          Constants.MGT_API_MAX_CONNECTIONS, DEFAULT_MGT_API_MAX_CONNECTIONS);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_MGT_API_MAX_CONNECTIONS_PER_NODE,
+                          Constants.MGT_API_MAX_CONNECTIONS_PER_NODE,
+                          DEFAULT_MGT_API_MAX_CONNECTIONS_PER_NODE);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_MGT_API_IDLE_CONNECTION_TIMEOUT,
+                          Constants.MGT_API_IDLE_CONNECTION_TIMEOUT,
+                          DEFAULT_MGT_API_IDLE_CONNECTION_TIMEOUT);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_MGT_API_KEEP_ALIVE_TIMEOUT,
+                          Constants.MGT_API_KEEP_ALIVE_TIMEOUT, DEFAULT_MGT_API_KEEP_ALIVE_TIMEOUT);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_MGT_API_CONNECTION_REQUEST_TIMEOUT,
+                          Constants.MGT_API_CONNECTION_REQUEST_TIMEOUT,
+                          DEFAULT_MGT_API_CONNECTION_REQUEST_TIMEOUT);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_MGT_API_TOKEN_REFRESH_BEFORE_EXPIRY,
+                          Constants.MGT_API_TOKEN_REFRESH_BEFORE_EXPIRY,
+                          DEFAULT_MGT_API_TOKEN_REFRESH_BEFORE_EXPIRY);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_MGT_API_CONNECT_TIMEOUT,
+                          Constants.MGT_API_CONNECT_TIMEOUT, DEFAULT_MGT_API_CONNECT_TIMEOUT);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_MGT_API_SOCKET_TIMEOUT,
+                          Constants.MGT_API_SOCKET_TIMEOUT, DEFAULT_MGT_API_SOCKET_TIMEOUT);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_CIRCUIT_BREAKER_WINDOW_SIZE,
+                          Constants.CIRCUIT_BREAKER_WINDOW_SIZE, DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD,
+                          Constants.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD,
+                          DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD,
+                          Constants.CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD, DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD,
+                          Constants.CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD,
+                          DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_CIRCUIT_BREAKER_OPEN_DURATION,
+                          Constants.CIRCUIT_BREAKER_OPEN_DURATION, DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION);
+        loadConfiguration(parsedConfigs, properties, TOML_CONF_CAPPS_CACHE_TTL, Constants.CAPPS_CACHE_TTL,
+                          DEFAULT_CAPPS_CACHE_TTL);
+
         String miUsername = System.getProperty(MI_USERNAME);
         if (StringUtils.isEmpty(miUsername)) {
             miUsername = (String) parsedConfigs.get(TOML_MI_USERNAME);
@@ -283,9 +420,23 @@ public class DashboardServer {
             jksFileLocation = resolveSecret((String) parsedConfigs.get(TOML_JKS_FILE_LOCATION));
         }
 
+        if (parsedConfigs.containsKey(TOML_CONF_VIRTUAL_THREADS_ENABLE)) {
+            properties.put(Constants.VIRTUAL_THREADS_ENABLED,
+                           parsedConfigs.get(TOML_CONF_VIRTUAL_THREADS_ENABLE).toString());
+        }
+
         System.setProperties(properties);
     }
 
+    private void loadConfiguration(Map<String, Object> parsedConfigs, Properties properties, String tomlKey,
+                                   String propertyKey, long defaultValue) {
+        String value = String.valueOf(defaultValue);
+        if (parsedConfigs.containsKey(tomlKey)) {
+            value = ((Long) parsedConfigs.get(tomlKey)).toString();
+        }
+        properties.put(propertyKey, value);
+    }
+
     /**
      * Write the process ID of this process to the file.
      *
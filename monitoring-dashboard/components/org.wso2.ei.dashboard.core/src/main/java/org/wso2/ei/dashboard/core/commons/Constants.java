@@ -56,6 +56,35 @@ public final class Constants {
 
     public static final String DASHBOARD_HOME = System.getProperty("dashboard.home");
     public static final String HEARTBEAT_POOL_SIZE = System.getProperty("heartbeat_pool_size");
+    public static final int MAX_CONCURRENT_REQUESTS_PER_NODE =
+            Integer.getInteger("max_concurrent_requests_per_node", 10);
+    public static final int NODE_BROADCAST_TIMEOUT = Integer.getInteger("node_broadcast_timeout", 10000);
+    public static final int LOG_TAIL_POLL_INTERVAL = Integer.getInteger("log_tail_poll_interval", 1000);
+    public static final int ARTIFACT_RETRY_QUEUE_SIZE = Integer.getInteger("artifact_retry_queue_size", 10000);
+    public static final int ARTIFACT_RETRY_MAX_ATTEMPTS = Integer.getInteger("artifact_retry_max_attempts", 5);
+    public static final int ARTIFACT_RETRY_INITIAL_DELAY = Integer.getInteger("artifact_retry_initial_delay", 1000);
+    public static final int ARTIFACT_RETRY_MAX_DELAY = Integer.getInteger("artifact_retry_max_delay", 300000);
+    public static final int MGT_API_MAX_CONNECTIONS = Integer.getInteger("mgt_api_max_connections", 200);
+    public static final int MGT_API_MAX_CONNECTIONS_PER_NODE =
+            Integer.getInteger("mgt_api_max_connections_per_node", 20);
+    public static final int MGT_API_IDLE_CONNECTION_TIMEOUT =
+            Integer.getInteger("mgt_api_idle_connection_timeout", 30000);
+    public static final int MGT_API_KEEP_ALIVE_TIMEOUT = Integer.getInteger("mgt_api_keep_alive_timeout", 30000);
+    public static final int MGT_API_CONNECTION_REQUEST_TIMEOUT =
+            Integer.getInteger("mgt_api_connection_request_timeout", 10000);
+    public static final int MGT_API_TOKEN_REFRESH_BEFORE_EXPIRY =
+            Integer.getInteger("mgt_api_token_refresh_before_expiry", 60000);
+    public static final int MGT_API_CONNECT_TIMEOUT = Integer.getInteger("mgt_api_connect_timeout", 10000);
+    public static final int MGT_API_SOCKET_TIMEOUT = Integer.getInteger("mgt_api_socket_timeout", 60000);
+    public static final int CIRCUIT_BREAKER_WINDOW_SIZE = Integer.getInteger("circuit_breaker_window_size", 20);
+    public static final int CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD =
+            Integer.getInteger("circuit_breaker_failure_rate_threshold", 50);
+    public static final int CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD =
+            Integer.getInteger("circuit_breaker_slow_call_threshold", 10000);
+    public static final int CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD =
+            Integer.getInteger("circuit_breaker_slow_call_rate_threshold", 80);
+    public static final int CIRCUIT_BREAKER_OPEN_DURATION = Integer.getInteger("circuit_breaker_open_duration", 30000);
+    public static final int CAPPS_CACHE_TTL = Integer.getInteger("capps_cache_ttl", 5000);
     public static final String DATABASE_URL = "jdbc:h2:mem:ei-dashboard-db;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM '"
                                               + Constants.DASHBOARD_HOME + File.separator + "dbscripts" + File.separator
                                               + "h2.sql'";
@@ -66,6 +95,8 @@ public final class Constants {
     public static final String LIST_ATTRIBUTE = "list";
 
     public static final int TOKEN_CACHE_TIMEOUT = 60;
+    public static final int TOKEN_VALIDATION_CACHE_TTL = Integer.getInteger("token_validation_cache_ttl", 300);
+    public static final int JWKS_REFRESH_INTERVAL = Integer.getInteger("jwks_refresh_interval", 3600);
 
     public static final String JWKS_URI = "jwks_uri";
     public static final String INTROSPECTION_URI = "introspection_endpoint";
@@ -75,6 +106,7 @@ public final class Constants {
     public static final String CLIENT_ID = "client_id";
     public static final String CLIENT_SECRET = "client_secret";
     public static final String ACTIVE = "active";
+    public static final String EXPIRY = "exp";
     public static final String SCOPE = "scope";
     public static final String ADMIN = "admin";
 
@@ -47,6 +47,10 @@ import javax.ws.rs.ext.Provider;
 public class AuthenticationFilter implements ContainerRequestFilter {
 
     private static final String AUTHENTICATION_SCHEME = "Bearer";
+    // The handlers hold no state of their own, hence they are shared by all requests.
+    private static final SecurityHandler IN_MEMORY_SECURITY_HANDLER = new InMemorySecurityHandler();
+    private static final SecurityHandler JWT_SECURITY_HANDLER = new JWTSecurityHandler();
+    private static final SecurityHandler OPAQUE_TOKEN_SECURITY_HANDLER = new OpaqueTokenSecurityHandler();
     private static final List<String> adminOnlyPaths = Arrays.asList("/log-configs",
                                                                      "/users");
 
@@ -89,12 +93,12 @@ public class AuthenticationFilter implements ContainerRequestFilter {
     private static SecurityHandler getSecurityHandler(String token) {
 
         if (TokenCache.getInstance().getToken(token) != null) {
-            return new InMemorySecurityHandler();
+            return IN_MEMORY_SECURITY_HANDLER;
         }
         if (isJWTToken(token)) {
-            return new JWTSecurityHandler();
+            return JWT_SECURITY_HANDLER;
         }
-        return new OpaqueTokenSecurityHandler();
+        return OPAQUE_TOKEN_SECURITY_HANDLER;
     }
 
     private boolean isTokenBasedAuthentication(String authorizationHeader) {
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.core.commons.auth;
+
+import com.google.gson.JsonElement;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.ei.dashboard.core.commons.Constants;
+import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
+import org.wso2.ei.dashboard.core.exception.DashboardServerException;
+import org.wso2.micro.integrator.dashboard.utils.ExecutorServiceHolder;
+import org.wso2.micro.integrator.dashboard.utils.SSOConfig;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the JSON web key set of the identity provider, so the signatures of JWT access tokens are verified without
+ * fetching the keys on the request path. The keys are loaded at startup, refreshed in the background every
+ * JWKS_REFRESH_INTERVAL seconds, and refreshed on demand when a token is signed with a key that is not cached, which
+ * happens when the identity provider rotates its keys. On-demand refreshes are rate limited once the keys have been
+ * loaded; until then every token verification tries to load them. There is at most one fetch of the keys at a time,
+ * which concurrent on-demand refreshes wait for, and the keys are fetched without holding the lock of the cache.
+ */
+public final class JWKSetCache implements JWKSource<SecurityContext> {
+
+    private static final Logger logger = LogManager.getLogger(JWKSetCache.class);
+    private static final JWKSetCache instance = new JWKSetCache();
+    // Tokens signed with unknown keys must not be able to make the dashboard fetch the keys on every request.
+    private static final long MIN_ON_DEMAND_REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+
+    private final Object refreshLock = new Object();
+    private volatile SSOConfig config;
+    private volatile JWKSet jwkSet = new JWKSet();
+    private boolean isLoaded;
+    private long lastRefreshTime = System.nanoTime() - MIN_ON_DEMAND_REFRESH_INTERVAL;
+    private CompletableFuture<Void> refresh;
+    private ScheduledFuture<?> refreshTask;
+
+    private JWKSetCache() {
+
+    }
+
+    /**
+     * Get JWKSetCache Instance.
+     *
+     * @return JWKSetCache
+     */
+    public static JWKSetCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Loads the keys of the identity provider of the given SSO config and schedules their background refresh, unless
+     * the cache is already started. A failure to load the keys is logged and the keys are loaded again by the first
+     * token verification.
+     *
+     * @param ssoConfig SSO config of the dashboard
+     */
+    public void start(SSOConfig ssoConfig) {
+        if (config != null) {
+            return;
+        }
+        synchronized (refreshLock) {
+            if (config != null) {
+                return;
+            }
+            config = ssoConfig;
+            long interval = Constants.JWKS_REFRESH_INTERVAL;
+            refreshTask = ExecutorServiceHolder.getJwksRefreshExecutorService().scheduleWithFixedDelay(
+                    this::refreshQuietly, interval, interval, TimeUnit.SECONDS);
+        }
+        refreshQuietly();
+    }
+
+    /**
+     * Stops the background refresh of the keys.
+     */
+    public void stop() {
+        synchronized (refreshLock) {
+            if (refreshTask != null) {
+                refreshTask.cancel(false);
+                refreshTask = null;
+            }
+            config = null;
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        JWKSet cachedJwkSet = jwkSet;
+        List<JWK> keys = jwkSelector.select(cachedJwkSet);
+        if (keys.isEmpty() && refreshOnDemand(cachedJwkSet)) {
+            keys = jwkSelector.select(jwkSet);
+        }
+        return keys;
+    }
+
+    private boolean refreshOnDemand(JWKSet cachedJwkSet) {
+        CompletableFuture<Void> inFlightRefresh;
+        boolean isStarted = false;
+        synchronized (refreshLock) {
+            if (jwkSet != cachedJwkSet) {
+                // Another thread refreshed the keys after this one read them.
+                return true;
+            }
+            if (refresh == null) {
+                if (config == null
+                    || (isLoaded && System.nanoTime() - lastRefreshTime < MIN_ON_DEMAND_REFRESH_INTERVAL)) {
+                    return false;
+                }
+                refresh = new CompletableFuture<>();
+                lastRefreshTime = System.nanoTime();
+                isStarted = true;
+            }
+            inFlightRefresh = refresh;
+        }
+        if (isStarted) {
+            refresh(inFlightRefresh);
+        } else {
+            inFlightRefresh.join();
+        }
+        return jwkSet != cachedJwkSet;
+    }
+
+    private void refreshQuietly() {
+        CompletableFuture<Void> inFlightRefresh;
+        synchronized (refreshLock) {
+            if (refresh != null) {
+                // The keys are being fetched by an on-demand refresh.
+                return;
+            }
+            refresh = new CompletableFuture<>();
+            lastRefreshTime = System.nanoTime();
+            inFlightRefresh = refresh;
+        }
+        refresh(inFlightRefresh);
+    }
+
+    /**
+     * Fetches the keys and publishes them under the lock, completing the given refresh once done. Any error is
+     * logged, since an error escaping the scheduled refresh would cancel all later refreshes.
+     */
+    private void refresh(CompletableFuture<Void> inFlightRefresh) {
+        SSOConfig ssoConfig = config;
+        JWKSet fetchedJwkSet = null;
+        try {
+            if (ssoConfig != null) {
+                fetchedJwkSet = fetchJwkSet(getJwksEndpoint(ssoConfig));
+            }
+        } catch (ParseException | RuntimeException e) {
+            logger.error("Error occurred while fetching the JSON web key set of the identity provider", e);
+        } finally {
+            synchronized (refreshLock) {
+                if (fetchedJwkSet != null) {
+                    jwkSet = fetchedJwkSet;
+                    isLoaded = true;
+                }
+                refresh = null;
+            }
+            inFlightRefresh.complete(null);
+        }
+    }
+
+    private static URI getJwksEndpoint(SSOConfig ssoConfig) {
+        URI jwksEndpoint = ssoConfig.getOidcAgentConfig().getJwksEndpoint();
+        if (jwksEndpoint == null) {
+            jwksEndpoint = getJWKSEndpointFromWellKnownEndpoint(ssoConfig.getWellKnownEndpoint());
+            ssoConfig.getOidcAgentConfig().setJwksEndpoint(jwksEndpoint);
+        }
+        return jwksEndpoint;
+    }
+
+    private static JWKSet fetchJwkSet(URI jwksEndpoint) throws ParseException {
+        String jwkSet = HttpUtils.doGet(new HttpGet(jwksEndpoint), httpResponse -> {
+            int httpSc = httpResponse.getStatusLine().getStatusCode();
+            if (httpSc == HttpStatus.SC_OK) {
+                return HttpUtils.getStringResponse(httpResponse);
+            }
+            throw new DashboardServerException("Error occurred while fetching keys from " + jwksEndpoint + ". "
+                                               + httpResponse.getStatusLine().getReasonPhrase());
+        });
+        return JWKSet.parse(jwkSet);
+    }
+
+    private static URI getJWKSEndpointFromWellKnownEndpoint(String wellKnownEndpointPath) {
+
+        HttpGet httpGet = new HttpGet(wellKnownEndpointPath);
+        return HttpUtils.doGet(httpGet, httpResponse -> {
+            int httpSc = httpResponse.getStatusLine().getStatusCode();
+
+            if (httpSc == HttpStatus.SC_OK) {
+                JsonElement jwksUri = HttpUtils.getJsonResponse(httpResponse).get(Constants.JWKS_URI);
+                if (jwksUri == null || jwksUri.isJsonNull()) {
+                    throw new DashboardServerException("Cannot find " + Constants.JWKS_URI + " in well known "
+                                                       + "endpoint response.");
+                }
+                try {
+                    return new URI(jwksUri.getAsString());
+                } catch (URISyntaxException e) {
+                    throw new DashboardServerException("Invalid url for " + Constants.JWKS_URI, e);
+                }
+            }
+            throw new DashboardServerException("Cannot find " + Constants.JWKS_URI + " in well known endpoint " +
+                                               "response. " + httpResponse.getStatusLine().getReasonPhrase());
+        });
+    }
+}
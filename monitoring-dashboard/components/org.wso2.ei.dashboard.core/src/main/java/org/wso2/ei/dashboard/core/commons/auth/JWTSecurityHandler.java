@@ -20,27 +20,25 @@ package org.wso2.ei.dashboard.core.commons.auth;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTParser;
-import io.asgardeo.java.oidc.sdk.exception.SSOAgentServerException;
-import io.asgardeo.java.oidc.sdk.validators.IDTokenValidator;
-import org.apache.http.HttpStatus;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpGet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.openid.connect.sdk.validators.IDTokenValidator;
+import io.asgardeo.java.oidc.sdk.config.model.OIDCAgentConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.wso2.ei.dashboard.core.commons.Constants;
-import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
 import org.wso2.ei.dashboard.core.commons.utils.TokenUtils;
-import org.wso2.ei.dashboard.core.exception.DashboardServerException;
 import org.wso2.micro.integrator.dashboard.utils.SSOConfig;
 
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.text.ParseException;
 
 /**
  * This class implements SecurityHandler to implement the authentication logic for a JWT self contained token.
+ * Signatures are verified with the keys cached by {@link JWKSetCache}.
  */
 public class JWTSecurityHandler implements SecurityHandler {
 
@@ -49,22 +47,38 @@ public class JWTSecurityHandler implements SecurityHandler {
     @Override
     public boolean isAuthenticated(SSOConfig config, String token) {
 
-        JWT idTokenJWT = null;
+        return ValidatedTokenCache.getInstance().isValid(token, () -> validate(config, token));
+    }
+
+    private long validate(SSOConfig config, String token) {
+
         try {
-            idTokenJWT = JWTParser.parse(token);
-            if (config.getOidcAgentConfig().getJwksEndpoint() == null) {
-                config.getOidcAgentConfig()
-                        .setJwksEndpoint(getJWKSEndpointFromWellKnownEndpoint(config.getWellKnownEndpoint()));
+            JWT idTokenJWT = JWTParser.parse(token);
+            if (!(idTokenJWT instanceof SignedJWT)) {
+                return ValidatedTokenCache.INVALID;
+            }
+            JWSAlgorithm algorithm = ((SignedJWT) idTokenJWT).getHeader().getAlgorithm();
+            OIDCAgentConfig agentConfig = config.getOidcAgentConfig();
+            if (agentConfig.getSignatureAlgorithm() != null && !agentConfig.getSignatureAlgorithm().equals(algorithm)) {
+                return ValidatedTokenCache.INVALID;
             }
-            IDTokenValidator validator = new IDTokenValidator(config.getOidcAgentConfig(), idTokenJWT);
-            validator.validate(null);
-            return true;
-        } catch (DashboardServerException | ParseException | SSOAgentServerException e) {
+            IDTokenValidator validator;
+            if (JWSAlgorithm.Family.HMAC_SHA.contains(algorithm)) {
+                validator = new IDTokenValidator(agentConfig.getIssuer(), agentConfig.getConsumerKey(), algorithm,
+                                                 agentConfig.getConsumerSecret());
+            } else {
+                JWKSetCache jwkSetCache = JWKSetCache.getInstance();
+                jwkSetCache.start(config);
+                validator = new IDTokenValidator(agentConfig.getIssuer(), agentConfig.getConsumerKey(),
+                                                 new JWSVerificationKeySelector<>(algorithm, jwkSetCache), null);
+            }
+            return validator.validate(idTokenJWT, null).getExpirationTime().getTime();
+        } catch (ParseException | BadJOSEException | JOSEException e) {
             if (logger.isDebugEnabled()) {
                 logger.error("Error validating the access token", e);
             }
         }
-        return false;
+        return ValidatedTokenCache.INVALID;
     }
 
     @Override
@@ -84,22 +98,4 @@ public class JWTSecurityHandler implements SecurityHandler {
         }
         return false;
     }
-
-    private URI getJWKSEndpointFromWellKnownEndpoint(String wellKnownEndpointPath) {
-
-        HttpGet httpGet = new HttpGet(wellKnownEndpointPath);
-        CloseableHttpResponse httpResponse = HttpUtils.doGet(httpGet);
-
-        int httpSc = httpResponse.getStatusLine().getStatusCode();
-
-        if (httpSc == HttpStatus.SC_OK) {
-            try {
-                return new URI(HttpUtils.getJsonResponse(httpResponse).get(Constants.JWKS_URI).getAsString());
-            } catch (URISyntaxException e) {
-                throw new DashboardServerException("Invalid url for " + Constants.JWKS_URI, e);
-            }
-        }
-        throw new DashboardServerException("Cannot find " + Constants.JWKS_URI + " in well known endpoint response. " +
-                httpResponse.getStatusLine().getReasonPhrase());
-    }
 }
@@ -24,7 +24,6 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import org.apache.http.HttpStatus;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -51,6 +50,11 @@ public class OpaqueTokenSecurityHandler implements SecurityHandler {
     @Override
     public boolean isAuthenticated(SSOConfig config, String token) {
 
+        return ValidatedTokenCache.getInstance().isValid(token, () -> introspect(config, token));
+    }
+
+    private long introspect(SSOConfig config, String token) {
+
         if (config.getIntrospectionEndpoint() == null) {
             config.setIntrospectionEndpoint(
                     getIntrospectionEndpointFromWellKnownEndpoint(config.getWellKnownEndpoint()));
@@ -62,19 +66,30 @@ public class OpaqueTokenSecurityHandler implements SecurityHandler {
         introspectionRequestBody
                 .put(Constants.CLIENT_SECRET, config.getOidcAgentConfig().getConsumerSecret().getValue());
 
-        CloseableHttpResponse httpResponse =
-                HttpUtils.doPost(config.getIntrospectionEndpoint(), introspectionRequestBody);
-
-        int httpSc = httpResponse.getStatusLine().getStatusCode();
+        return HttpUtils.doPost(config.getIntrospectionEndpoint(), introspectionRequestBody, httpResponse -> {
+            int httpSc = httpResponse.getStatusLine().getStatusCode();
 
-        if (httpSc == HttpStatus.SC_OK) {
-            return HttpUtils.getJsonResponse(httpResponse).get(Constants.ACTIVE).getAsBoolean();
-        }
-        if (logger.isDebugEnabled()) {
-            logger.error("Error validating the token using introspection endpoint. ",
-                    httpResponse.getStatusLine().getReasonPhrase());
-        }
-        return false;
+            if (httpSc == HttpStatus.SC_OK) {
+                JsonObject introspectionResponse = HttpUtils.getJsonResponse(httpResponse);
+                if (!introspectionResponse.get(Constants.ACTIVE).getAsBoolean()) {
+                    return ValidatedTokenCache.INVALID;
+                }
+                // The token is introspected again after the cache TTL even if it expires later, so that revoked
+                // tokens are rejected within the TTL.
+                long expiry = System.currentTimeMillis()
+                              + TimeUnit.SECONDS.toMillis(Constants.TOKEN_VALIDATION_CACHE_TTL);
+                JsonElement expiryElement = introspectionResponse.get(Constants.EXPIRY);
+                if (expiryElement != null && !expiryElement.isJsonNull()) {
+                    expiry = Math.min(expiry, TimeUnit.SECONDS.toMillis(expiryElement.getAsLong()));
+                }
+                return expiry;
+            }
+            if (logger.isDebugEnabled()) {
+                logger.error("Error validating the token using introspection endpoint. ",
+                        httpResponse.getStatusLine().getReasonPhrase());
+            }
+            return ValidatedTokenCache.INVALID;
+        });
     }
 
     @Override
@@ -98,62 +113,59 @@ public class OpaqueTokenSecurityHandler implements SecurityHandler {
                     getUserInfoEndpointFromWellKnownEndpoint(config.getWellKnownEndpoint()));
         }
 
-        CloseableHttpResponse httpResponse =
-                HttpUtils.doGet(token, config.getUserInfoEndpoint());
-
-        int httpSc = httpResponse.getStatusLine().getStatusCode();
-
-        if (httpSc == HttpStatus.SC_OK) {
-            JsonArray groupElement =
-                    HttpUtils.getJsonResponse(httpResponse).get(config.getAdminGroupAttribute()).getAsJsonArray();
-            for (JsonElement group : groupElement) {
-                if (config.getAllowedAdminGroups().contains(group.getAsString())) {
-                    adminClaimMap.put(token, true);
-                    return true;
+        return HttpUtils.doGet(token, config.getUserInfoEndpoint(), httpResponse -> {
+            int httpSc = httpResponse.getStatusLine().getStatusCode();
+
+            if (httpSc == HttpStatus.SC_OK) {
+                JsonArray groupElement =
+                        HttpUtils.getJsonResponse(httpResponse).get(config.getAdminGroupAttribute()).getAsJsonArray();
+                for (JsonElement group : groupElement) {
+                    if (config.getAllowedAdminGroups().contains(group.getAsString())) {
+                        adminClaimMap.put(token, true);
+                        return true;
+                    }
                 }
+                adminClaimMap.put(token, false);
             }
-            adminClaimMap.put(token, false);
-        }
-        if (logger.isDebugEnabled()) {
-            logger.error("Error validating the token using userInfo endpoint. ",
-                    httpResponse.getStatusLine().getReasonPhrase());
-        }
-        return false;
+            if (logger.isDebugEnabled()) {
+                logger.error("Error validating the token using userInfo endpoint. ",
+                        httpResponse.getStatusLine().getReasonPhrase());
+            }
+            return false;
+        });
     }
 
     private String getUserInfoEndpointFromWellKnownEndpoint(String wellKnownEndpoint) {
 
-        HttpGet httpGet = new HttpGet(wellKnownEndpoint);
-        CloseableHttpResponse httpResponse = HttpUtils.doGet(httpGet);
-
-        int httpSc = httpResponse.getStatusLine().getStatusCode();
+        return HttpUtils.doGet(new HttpGet(wellKnownEndpoint), httpResponse -> {
+            int httpSc = httpResponse.getStatusLine().getStatusCode();
 
-        if (httpSc == HttpStatus.SC_OK) {
-            JsonObject jsonResponse = HttpUtils.getJsonResponse(httpResponse);
-            if (jsonResponse.has(Constants.USERINFO_URI)) {
-                return jsonResponse.get(Constants.USERINFO_URI).getAsString();
+            if (httpSc == HttpStatus.SC_OK) {
+                JsonObject jsonResponse = HttpUtils.getJsonResponse(httpResponse);
+                if (jsonResponse.has(Constants.USERINFO_URI)) {
+                    return jsonResponse.get(Constants.USERINFO_URI).getAsString();
+                }
             }
-        }
-        throw new DashboardServerException("Cannot find " + Constants.USERINFO_URI + " in well known endpoint " +
-                "response. " +
-                httpResponse.getStatusLine().getReasonPhrase());
+            throw new DashboardServerException("Cannot find " + Constants.USERINFO_URI + " in well known endpoint " +
+                    "response. " +
+                    httpResponse.getStatusLine().getReasonPhrase());
+        });
     }
 
     private String getIntrospectionEndpointFromWellKnownEndpoint(String wellKnownEndpoint) {
 
-        HttpGet httpGet = new HttpGet(wellKnownEndpoint);
-        CloseableHttpResponse httpResponse = HttpUtils.doGet(httpGet);
-
-        int httpSc = httpResponse.getStatusLine().getStatusCode();
+        return HttpUtils.doGet(new HttpGet(wellKnownEndpoint), httpResponse -> {
+            int httpSc = httpResponse.getStatusLine().getStatusCode();
 
-        if (httpSc == HttpStatus.SC_OK) {
-            JsonObject jsonResponse = HttpUtils.getJsonResponse(httpResponse);
-            if (jsonResponse.has(Constants.INTROSPECTION_URI)) {
-                return jsonResponse.get(Constants.INTROSPECTION_URI).getAsString();
+            if (httpSc == HttpStatus.SC_OK) {
+                JsonObject jsonResponse = HttpUtils.getJsonResponse(httpResponse);
+                if (jsonResponse.has(Constants.INTROSPECTION_URI)) {
+                    return jsonResponse.get(Constants.INTROSPECTION_URI).getAsString();
+                }
             }
-        }
-        throw new DashboardServerException("Cannot find " + Constants.INTROSPECTION_URI + " in well known endpoint " +
-                "response. " +
-                httpResponse.getStatusLine().getReasonPhrase());
+            throw new DashboardServerException("Cannot find " + Constants.INTROSPECTION_URI + " in well known " +
+                    "endpoint response. " +
+                    httpResponse.getStatusLine().getReasonPhrase());
+        });
     }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.core.commons.auth;
+
+import org.wso2.ei.dashboard.core.commons.utils.AsyncHttpUtils;
+import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
+import org.wso2.micro.integrator.dashboard.utils.SSOConfig;
+import org.wso2.micro.integrator.dashboard.utils.SSOConstants;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Loads the signing keys of the identity provider when the dashboard api is deployed with SSO enabled, so the first
+ * requests do not wait for them. Once the dashboard api is undeployed, the http clients of the management api are
+ * closed along with their connection pools and threads.
+ */
+public class SSOContextListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent servletContextEvent) {
+
+        Object config = servletContextEvent.getServletContext().getAttribute(SSOConstants.CONFIG_BEAN_NAME);
+        if (config instanceof SSOConfig) {
+            JWKSetCache.getInstance().start((SSOConfig) config);
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent servletContextEvent) {
+
+        JWKSetCache.getInstance().stop();
+        HttpUtils.close();
+        AsyncHttpUtils.close();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.core.commons.auth;
+
+import org.wso2.ei.dashboard.core.exception.DashboardServerException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of the tokens validated against the identity provider. A token stays valid in the cache until the expiry
+ * returned by its validation, so requests made with the same token are not validated again. Concurrent validations
+ * of a token which is not cached yet are collapsed into a single validation. Tokens are keyed by their SHA-256 hash,
+ * hence the cache does not hold the tokens themselves. The cache holds at most MAX_CACHED_TOKENS tokens; once it is
+ * full of unexpired tokens, further tokens are validated on every request until cached tokens expire.
+ */
+public final class ValidatedTokenCache {
+
+    /**
+     * Expiry returned by a validation when the token is not valid.
+     */
+    public static final long INVALID = -1;
+
+    private static final ValidatedTokenCache instance = new ValidatedTokenCache();
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int MAX_CACHED_TOKENS = 10000;
+
+    private final ConcurrentMap<String, Long> validTokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<Long>> validations = new ConcurrentHashMap<>();
+
+    private ValidatedTokenCache() {
+
+    }
+
+    /**
+     * Get ValidatedTokenCache Instance.
+     *
+     * @return ValidatedTokenCache
+     */
+    public static ValidatedTokenCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Checks whether the token is valid, running the given validation only if the token is not cached and no other
+     * thread is validating it.
+     *
+     * @param token      token to check
+     * @param validation validation of the token against the identity provider
+     * @return true if the token is valid
+     */
+    public boolean isValid(String token, TokenValidation validation) {
+        String key = getKey(token);
+        Long expiry = validTokens.get(key);
+        if (expiry != null) {
+            if (expiry > System.currentTimeMillis()) {
+                return true;
+            }
+            validTokens.remove(key, expiry);
+        }
+
+        CompletableFuture<Long> validationResult = new CompletableFuture<>();
+        CompletableFuture<Long> inFlightValidation = validations.putIfAbsent(key, validationResult);
+        if (inFlightValidation != null) {
+            try {
+                return inFlightValidation.join() > System.currentTimeMillis();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw (RuntimeException) e.getCause();
+            }
+        }
+        try {
+            expiry = validation.validate();
+            if (expiry > System.currentTimeMillis()) {
+                put(key, expiry);
+            }
+            validationResult.complete(expiry);
+        } catch (Throwable e) {
+            // The threads waiting on this validation fail as well, and the next request validates the token again.
+            validationResult.completeExceptionally(e);
+            throw e;
+        } finally {
+            validations.remove(key, validationResult);
+        }
+        return expiry > System.currentTimeMillis();
+    }
+
+    /**
+     * Removes a token from the cache, e.g. when the user logs out.
+     *
+     * @param token token to remove
+     */
+    public void invalidate(String token) {
+        validTokens.remove(getKey(token));
+    }
+
+    private void put(String key, long expiry) {
+        if (validTokens.size() >= MAX_CACHED_TOKENS) {
+            long now = System.currentTimeMillis();
+            validTokens.values().removeIf(tokenExpiry -> tokenExpiry <= now);
+            if (validTokens.size() >= MAX_CACHED_TOKENS) {
+                return;
+            }
+        }
+        validTokens.put(key, expiry);
+    }
+
+    private static String getKey(String token) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new DashboardServerException("Error occurred while hashing the access token", e);
+        }
+        byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Validation of a token against the identity provider.
+     */
+    @FunctionalInterface
+    public interface TokenValidation {
+
+        /**
+         * Validates the token.
+         *
+         * @return epoch time in milliseconds until which the token is valid, or {@link #INVALID}
+         */
+        long validate();
+    }
+}
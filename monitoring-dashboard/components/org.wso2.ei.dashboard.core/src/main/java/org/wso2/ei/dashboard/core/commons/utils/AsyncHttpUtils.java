@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.core.commons.utils;
+
+import com.google.gson.JsonObject;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.ConnectingIOReactor;
+import org.apache.http.ssl.SSLContexts;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.ei.dashboard.core.commons.Constants;
+import org.wso2.ei.dashboard.core.exception.DashboardServerException;
+import org.wso2.ei.dashboard.core.exception.NodeConnectionException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Utilities to execute non-blocking http requests. Responses are buffered by the client before the returned future
+ * completes, so callers do not hold a connection while processing them and do not need to release them.
+ */
+public class AsyncHttpUtils {
+
+    private static final Logger logger = LogManager.getLogger(AsyncHttpUtils.class);
+    private static volatile CloseableHttpAsyncClient httpAsyncClient;
+
+    private AsyncHttpUtils() {
+    }
+
+    public static CompletableFuture<HttpResponse> doGet(String accessToken, String url) {
+        return execute(HttpUtils.createGetRequest(accessToken, url), "get");
+    }
+
+    public static CompletableFuture<HttpResponse> doPost(String accessToken, String url, JsonObject payload) {
+        return execute(HttpUtils.createPostRequest(accessToken, url, payload), "post");
+    }
+
+    public static CompletableFuture<HttpResponse> doPatch(String accessToken, String url, JsonObject payload) {
+        return execute(HttpUtils.createPatchRequest(accessToken, url, payload), "patch");
+    }
+
+    public static CompletableFuture<HttpResponse> doDelete(String accessToken, String url) {
+        return execute(HttpUtils.createDeleteRequest(accessToken, url), "delete");
+    }
+
+    private static CompletableFuture<HttpResponse> execute(HttpUriRequest request, String method) {
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        getHttpAsyncClient().execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                future.completeExceptionally(
+                        new NodeConnectionException("Error occurred while sending http " + method + " request.", e));
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Closes the async http client, which stops its IO reactor threads, once the dashboard api is undeployed. A new
+     * client is created if a request is sent afterwards.
+     */
+    public static void close() {
+        CloseableHttpAsyncClient client;
+        synchronized (AsyncHttpUtils.class) {
+            client = httpAsyncClient;
+            httpAsyncClient = null;
+        }
+        if (client != null) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                logger.warn("Error occurred while closing async http client.", e);
+            }
+        }
+    }
+
+    private static CloseableHttpAsyncClient getHttpAsyncClient() {
+        CloseableHttpAsyncClient client = httpAsyncClient;
+        if (client == null) {
+            synchronized (AsyncHttpUtils.class) {
+                client = httpAsyncClient;
+                if (client == null) {
+                    client = createHttpAsyncClient();
+                    client.start();
+                    httpAsyncClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private static CloseableHttpAsyncClient createHttpAsyncClient() {
+        try {
+            SSLContext sslContext = SSLContexts.custom().loadTrustMaterial(null, (cert, authType) -> true).build();
+            Registry<SchemeIOSessionStrategy> sessionStrategyRegistry =
+                    RegistryBuilder.<SchemeIOSessionStrategy>create()
+                            .register("https", new SSLIOSessionStrategy(sslContext, NoopHostnameVerifier.INSTANCE))
+                            .register("http", NoopIOSessionStrategy.INSTANCE)
+                            .build();
+
+            ConnectingIOReactor ioReactor = new DefaultConnectingIOReactor();
+            PoolingNHttpClientConnectionManager connectionManager =
+                    new PoolingNHttpClientConnectionManager(ioReactor, sessionStrategyRegistry);
+            connectionManager.setMaxTotal(Constants.MGT_API_MAX_CONNECTIONS);
+            connectionManager.setDefaultMaxPerRoute(Constants.MGT_API_MAX_CONNECTIONS_PER_NODE);
+
+            RequestConfig requestConfig =
+                    RequestConfig.custom().setConnectionRequestTimeout(Constants.MGT_API_CONNECTION_REQUEST_TIMEOUT)
+                                 .setConnectTimeout(Constants.MGT_API_CONNECT_TIMEOUT)
+                                 .setSocketTimeout(Constants.MGT_API_SOCKET_TIMEOUT)
+                                 .build();
+
+            return HttpAsyncClients.custom()
+                                   .setConnectionManager(connectionManager)
+                                   .setDefaultRequestConfig(requestConfig)
+                                   .setKeepAliveStrategy(
+                                           HttpUtils.getKeepAliveStrategy(Constants.MGT_API_KEEP_ALIVE_TIMEOUT))
+                                   .build();
+        } catch (Exception e) {
+            throw new DashboardServerException("Error occurred while creating async http client.", e);
+        }
+    }
+}
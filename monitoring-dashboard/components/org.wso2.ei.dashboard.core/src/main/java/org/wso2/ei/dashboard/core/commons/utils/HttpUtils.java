@@ -21,35 +21,53 @@
 package org.wso2.ei.dashboard.core.commons.utils;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.TrustStrategy;
 import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.BasicHttpClientConnectionManager;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.ssl.SSLContexts;
 import org.apache.http.util.EntityUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.wso2.ei.dashboard.core.commons.Constants;
 import org.wso2.ei.dashboard.core.exception.DashboardServerException;
+import org.wso2.ei.dashboard.core.exception.NodeConnectionException;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 import javax.net.ssl.SSLContext;
 import javax.ws.rs.core.Response;
@@ -59,63 +77,105 @@ import javax.ws.rs.core.Response;
  */
 public class HttpUtils {
 
-    private HttpUtils() {
-    }
-
-    public static CloseableHttpResponse doGet(String accessToken, String url) {
-        final HttpGet httpGet = new HttpGet(url);
-
-        String authHeader = "Bearer " + accessToken;
+    private static final Logger logger = LogManager.getLogger(HttpUtils.class);
+    private static final int VALIDATE_AFTER_INACTIVITY = 2000;
+    // The client and its connection manager are published together, so that no reader sees one without the other.
+    private static volatile PooledHttpClient pooledHttpClient;
 
-        httpGet.setHeader("Accept", Constants.HEADER_VALUE_APPLICATION_JSON);
-        httpGet.setHeader("Authorization", authHeader);
-
-        return doGet(httpGet);
+    private HttpUtils() {
     }
 
-    public static CloseableHttpResponse doGet(HttpGet httpGet) {
+    /**
+     * Sends a get request and returns the raw response. The caller owns the connection held by the response and has
+     * to release it with {@link #releaseResponse(CloseableHttpResponse)}, so this is only meant for responses which
+     * are streamed to the client. Use {@link #doGet(String, String, ResponseHandler)} for everything else.
+     *
+     * @param accessToken access token of the node
+     * @param url         url of the resource
+     * @param range       value of the Range header to send, or null to fetch the whole resource
+     * @return response of the node
+     */
+    public static CloseableHttpResponse doGet(String accessToken, String url, String range) {
         CloseableHttpClient httpClient = getHttpClient();
+        HttpGet httpGet = createGetRequest(accessToken, url);
+        if (range != null) {
+            httpGet.setHeader("Range", range);
+        }
         try {
             return httpClient.execute(httpGet);
         } catch (IOException e) {
-            throw new DashboardServerException("Error occurred while sending get http request.", e);
+            throw new NodeConnectionException("Error occurred while sending get http request.", e);
         }
     }
 
-    public static CloseableHttpResponse doPost(String accessToken, String url, JsonObject payload) {
+    public static <T> T doGet(String accessToken, String url, ResponseHandler<? extends T> handler) {
+        return doGet(createGetRequest(accessToken, url), handler);
+    }
+
+    public static <T> T doGet(HttpGet httpGet, ResponseHandler<? extends T> handler) {
+        return execute(httpGet, handler, "Error occurred while sending get http request.");
+    }
+
+    public static <T> T doPost(String accessToken, String url, JsonObject payload,
+                               ResponseHandler<? extends T> handler) {
+        return doPost(createPostRequest(accessToken, url, payload), handler);
+    }
+
+    public static <T> T doPost(String url, Map<String, String> params, ResponseHandler<? extends T> handler) {
         final HttpPost httpPost = new HttpPost(url);
-        String authHeader = "Bearer " + accessToken;
 
-        httpPost.setHeader("Authorization", authHeader);
-        httpPost.setHeader("content-type", Constants.HEADER_VALUE_APPLICATION_JSON);
+        StringBuilder payload = new StringBuilder();
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            payload.append(entry.getKey()).append("=").append(entry.getValue()).append("&");
+        }
+
+        httpPost.setHeader("Content-type", Constants.APPLICATION_X_WWW_FORM_URLENCODED);
         try {
             StringEntity entity = new StringEntity(payload.toString());
             httpPost.setEntity(entity);
-            return doPost(httpPost);
+            return doPost(httpPost, handler);
         } catch (UnsupportedEncodingException e) {
             throw new DashboardServerException("Error occurred while creating http post request.", e);
         }
     }
 
-    public static CloseableHttpResponse doPost(String url, Map<String, String> params) {
-        final HttpPost httpPost = new HttpPost(url);
+    public static <T> T doPatch(String accessToken, String url, JsonObject payload,
+                                ResponseHandler<? extends T> handler) {
+        return execute(createPatchRequest(accessToken, url, payload), handler,
+                       "Error occurred while sending http patch request.");
+    }
 
-        StringBuilder payload = new StringBuilder();
-        for (Map.Entry<String, String> entry : params.entrySet()) {
-            payload.append(entry.getKey()).append("=").append(entry.getValue()).append("&");
-        }
+    public static <T> T doDelete(String accessToken, String url, ResponseHandler<? extends T> handler) {
+        return execute(createDeleteRequest(accessToken, url), handler,
+                       "Error occurred while sending delete http request.");
+    }
 
-        httpPost.setHeader("Content-type", Constants.APPLICATION_X_WWW_FORM_URLENCODED);
+    static HttpGet createGetRequest(String accessToken, String url) {
+        final HttpGet httpGet = new HttpGet(url);
+
+        String authHeader = "Bearer " + accessToken;
+
+        httpGet.setHeader("Accept", Constants.HEADER_VALUE_APPLICATION_JSON);
+        httpGet.setHeader("Authorization", authHeader);
+        return httpGet;
+    }
+
+    static HttpPost createPostRequest(String accessToken, String url, JsonObject payload) {
+        final HttpPost httpPost = new HttpPost(url);
+        String authHeader = "Bearer " + accessToken;
+
+        httpPost.setHeader("Authorization", authHeader);
+        httpPost.setHeader("content-type", Constants.HEADER_VALUE_APPLICATION_JSON);
         try {
             StringEntity entity = new StringEntity(payload.toString());
             httpPost.setEntity(entity);
-            return doPost(httpPost);
+            return httpPost;
         } catch (UnsupportedEncodingException e) {
             throw new DashboardServerException("Error occurred while creating http post request.", e);
         }
     }
 
-    public static CloseableHttpResponse doPatch(String accessToken, String url, JsonObject payload) {
+    static HttpPatch createPatchRequest(String accessToken, String url, JsonObject payload) {
         final HttpPatch httpPatch = new HttpPatch(url);
 
         String authHeader = "Bearer " + accessToken;
@@ -126,30 +186,74 @@ public class HttpUtils {
 
         HttpEntity httpEntity = new ByteArrayEntity(payload.toString().getBytes(StandardCharsets.UTF_8));
         httpPatch.setEntity(httpEntity);
-        return doPatch(httpPatch);
+        return httpPatch;
     }
 
-    public static CloseableHttpResponse doDelete(String accessToken, String url) {
+    static HttpDelete createDeleteRequest(String accessToken, String url) {
         String authHeader = "Bearer " + accessToken;
         final HttpDelete httpDelete = new HttpDelete(url);
 
         httpDelete.setHeader("Accept", Constants.HEADER_VALUE_APPLICATION_JSON);
         httpDelete.setHeader("Authorization", authHeader);
+        return httpDelete;
+    }
+
+    public static JsonObject getJsonResponse(HttpResponse response) {
+        try (JsonReader reader = getJsonReader(response)) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (IOException e) {
+            throw new DashboardServerException("Error occurred while reading json response", e);
+        }
+    }
 
-        return doDelete(httpDelete);
+    public static JsonArray getJsonArray(HttpResponse response) {
+        try (JsonReader reader = getJsonReader(response)) {
+            return JsonParser.parseReader(reader).getAsJsonArray();
+        } catch (IOException e) {
+            throw new DashboardServerException("Error occurred while reading json response", e);
+        }
     }
 
-    public static JsonObject getJsonResponse(CloseableHttpResponse response) {
-        String stringResponse = getStringResponse(response);
-        return JsonParser.parseString(stringResponse).getAsJsonObject();
+    /**
+     * Streams the elements of the arrays in a json object response one at a time, so that only the element being
+     * handled is held in memory rather than the whole response. Values of the object which are not arrays are
+     * skipped.
+     *
+     * @param response json object response
+     * @param consumer consumer of the name of the array and an element of it
+     */
+    public static void forEachArrayElement(HttpResponse response, BiConsumer<String, JsonElement> consumer) {
+        try (JsonReader reader = getJsonReader(response)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    consumer.accept(name, JsonParser.parseReader(reader));
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException e) {
+            throw new DashboardServerException("Error occurred while reading json response", e);
+        }
     }
 
-    public static JsonArray getJsonArray(CloseableHttpResponse response) {
-        String stringResponse = getStringResponse(response);
-        return JsonParser.parseString(stringResponse).getAsJsonArray();
+    private static JsonReader getJsonReader(HttpResponse response) throws IOException {
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            throw new DashboardServerException("Http response does not contain a json payload");
+        }
+        Charset charset = ContentType.getOrDefault(entity).getCharset();
+        return new JsonReader(new InputStreamReader(entity.getContent(),
+                                                    charset != null ? charset : StandardCharsets.UTF_8));
     }
 
-    public static String getStringResponse(CloseableHttpResponse response) {
+    public static String getStringResponse(HttpResponse response) {
         HttpEntity entity = response.getEntity();
         try {
             return EntityUtils.toString(entity, "UTF-8");
@@ -158,34 +262,100 @@ public class HttpUtils {
         }
     }
 
-    private static CloseableHttpResponse doPost(HttpPost httpPost) {
+    private static <T> T doPost(HttpPost httpPost, ResponseHandler<? extends T> handler) {
+        return execute(httpPost, handler, "Error occurred while sending http post request.");
+    }
+
+    /**
+     * Executes the request and hands the response to the handler. The entity is consumed and the connection is
+     * returned to the pool once the handler returns, even if the handler throws.
+     */
+    private static <T> T execute(HttpUriRequest request, ResponseHandler<? extends T> handler,
+                                 String errorMessage) {
         CloseableHttpClient httpClient = getHttpClient();
         try {
-            return httpClient.execute(httpPost);
+            return httpClient.execute(request, response -> handleResponse(response, handler));
         } catch (IOException e) {
-            throw new DashboardServerException("Error occurred while sending http post request.", e);
+            throw new NodeConnectionException(errorMessage, e);
         }
     }
 
-    private static CloseableHttpResponse doPatch(HttpPatch httpPatch) {
-        CloseableHttpClient httpClient = getHttpClient();
+    /**
+     * Hands a response to the given handler. Errors raised by the handler are unchecked, so that only the failures
+     * of sending the request and receiving the response surface as {@link NodeConnectionException}.
+     */
+    private static <T> T handleResponse(HttpResponse response, ResponseHandler<? extends T> handler) {
         try {
-            return httpClient.execute(httpPatch);
+            return handler.handleResponse(response);
         } catch (IOException e) {
-            throw new DashboardServerException("Error occurred while sending http patch request.", e);
+            throw new DashboardServerException("Error occurred while handling http response.", e);
         }
     }
 
-    private static CloseableHttpResponse doDelete(HttpDelete httpDelete) {
-        CloseableHttpClient httpClient = getHttpClient();
+    /**
+     * Releases the connection held by a response back to the pool. The entity is consumed so that the connection
+     * can be reused for the next request to the same node.
+     *
+     * @param response response to be released, may be null
+     */
+    public static void releaseResponse(CloseableHttpResponse response) {
+        if (response == null) {
+            return;
+        }
+        EntityUtils.consumeQuietly(response.getEntity());
         try {
-            return httpClient.execute(httpDelete);
+            response.close();
         } catch (IOException e) {
-            throw new DashboardServerException("Error occurred while sending delete http request.", e);
+            logger.debug("Error occurred while closing http response.", e);
+        }
+    }
+
+    /**
+     * Returns the statistics of the connection pool, which shows whether connections are leaked by callers that do
+     * not release their responses.
+     */
+    public static PoolStats getPoolStats() {
+        return getPooledHttpClient().connectionManager.getTotalStats();
+    }
+
+    /**
+     * Closes the http client along with its pooled connections, once the dashboard api is undeployed. A new client is
+     * created if a request is sent afterwards.
+     */
+    public static void close() {
+        PooledHttpClient client;
+        synchronized (HttpUtils.class) {
+            client = pooledHttpClient;
+            pooledHttpClient = null;
+        }
+        if (client != null) {
+            try {
+                client.httpClient.close();
+            } catch (IOException e) {
+                logger.warn("Error occurred while closing http client.", e);
+            }
         }
     }
 
     private static CloseableHttpClient getHttpClient() {
+        return getPooledHttpClient().httpClient;
+    }
+
+    private static PooledHttpClient getPooledHttpClient() {
+        PooledHttpClient client = pooledHttpClient;
+        if (client == null) {
+            synchronized (HttpUtils.class) {
+                client = pooledHttpClient;
+                if (client == null) {
+                    client = createHttpClient();
+                    pooledHttpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private static PooledHttpClient createHttpClient() {
         TrustStrategy acceptingTrustStrategy = (cert, authType) -> true;
         try {
             SSLContext sslContext = SSLContexts.custom()
@@ -199,15 +369,47 @@ public class HttpUtils {
                             .register("http", new PlainConnectionSocketFactory())
                             .build();
 
-            BasicHttpClientConnectionManager connectionManager =
-                    new BasicHttpClientConnectionManager(socketFactoryRegistry);
-            return HttpClients.custom().setSSLSocketFactory(socketFactory)
-                              .setConnectionManager(connectionManager).build();
+            PoolingHttpClientConnectionManager connectionManager =
+                    new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+            connectionManager.setMaxTotal(Constants.MGT_API_MAX_CONNECTIONS);
+            connectionManager.setDefaultMaxPerRoute(Constants.MGT_API_MAX_CONNECTIONS_PER_NODE);
+            connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY);
+
+            RequestConfig requestConfig =
+                    RequestConfig.custom().setConnectionRequestTimeout(Constants.MGT_API_CONNECTION_REQUEST_TIMEOUT)
+                                 .setConnectTimeout(Constants.MGT_API_CONNECT_TIMEOUT)
+                                 .setSocketTimeout(Constants.MGT_API_SOCKET_TIMEOUT)
+                                 .build();
+
+            CloseableHttpClient httpClient =
+                    HttpClients.custom().setSSLSocketFactory(socketFactory)
+                               .setConnectionManager(connectionManager)
+                               .setDefaultRequestConfig(requestConfig)
+                               .setKeepAliveStrategy(getKeepAliveStrategy(Constants.MGT_API_KEEP_ALIVE_TIMEOUT))
+                               .evictExpiredConnections()
+                               .evictIdleConnections((long) Constants.MGT_API_IDLE_CONNECTION_TIMEOUT,
+                                                     TimeUnit.MILLISECONDS)
+                               .build();
+            return new PooledHttpClient(httpClient, connectionManager);
         } catch (Exception e) {
             throw new DashboardServerException("Error occurred while creating http client.", e);
         }
     }
 
+    /**
+     * Honours the keep-alive timeout advertised by the node and falls back to the configured timeout, so that pooled
+     * connections are not kept open indefinitely when the node does not send a keep-alive header.
+     */
+    static ConnectionKeepAliveStrategy getKeepAliveStrategy(long keepAliveTimeout) {
+        return (response, context) -> {
+            long timeout = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            if (timeout < 0 || timeout > keepAliveTimeout) {
+                return keepAliveTimeout;
+            }
+            return timeout;
+        };
+    }
+
     public static void setHeaders(Response.ResponseBuilder responseBuilder) {
         responseBuilder
                 .header("Content-Security-Policy",
@@ -218,4 +420,17 @@ public class HttpUtils {
                 .header("Referrer-Policy", "same-origin");
     }
 
+    /**
+     * Http client along with the manager of its connection pool.
+     */
+    private static final class PooledHttpClient {
+
+        private final CloseableHttpClient httpClient;
+        private final PoolingHttpClientConnectionManager connectionManager;
+
+        private PooledHttpClient(CloseableHttpClient httpClient, PoolingHttpClientConnectionManager connectionManager) {
+            this.httpClient = httpClient;
+            this.connectionManager = connectionManager;
+        }
+    }
 }
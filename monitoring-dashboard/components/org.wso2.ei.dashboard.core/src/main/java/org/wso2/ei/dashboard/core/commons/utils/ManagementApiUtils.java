@@ -21,7 +21,6 @@
 package org.wso2.ei.dashboard.core.commons.utils;
 
 import com.google.gson.JsonObject;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
@@ -58,15 +57,20 @@ public class ManagementApiUtils {
         final HttpGet httpGet = new HttpGet(loginUrl);
         httpGet.setHeader("Accept", "application/json");
         httpGet.setHeader("Authorization", "Basic " + encodedUsernamePassword);
-        CloseableHttpResponse response = HttpUtils.doGet(httpGet);
-
-        int responseCode = response.getStatusLine().getStatusCode();
-        if (responseCode / 100 != 2) {
-            throw new ManagementApiException(response.getStatusLine().getReasonPhrase(), responseCode);
+        // The response handler cannot throw the checked exception, so it is raised once the response is released.
+        ManagementApiException[] error = new ManagementApiException[1];
+        JsonObject jsonResponse = HttpUtils.doGet(httpGet, response -> {
+            int responseCode = response.getStatusLine().getStatusCode();
+            if (responseCode / 100 != 2) {
+                error[0] = new ManagementApiException(response.getStatusLine().getReasonPhrase(), responseCode);
+                return null;
+            }
+            return HttpUtils.getJsonResponse(response);
+        });
+        if (error[0] != null) {
+            throw error[0];
         }
 
-        JsonObject jsonResponse = HttpUtils.getJsonResponse(response);
-
         if (jsonResponse.has("AccessToken")) {
             return jsonResponse.get("AccessToken").getAsString();
         } else {
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.core.db.manager;
+
+/**
+ * Name and details of an artifact deployed in a node, as stored in the artifact tables.
+ */
+public class ArtifactRecord {
+
+    private final String name;
+    private final String details;
+
+    public ArtifactRecord(String name, String details) {
+
+        this.name = name;
+        this.details = details;
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    public String getDetails() {
+
+        return details;
+    }
+}
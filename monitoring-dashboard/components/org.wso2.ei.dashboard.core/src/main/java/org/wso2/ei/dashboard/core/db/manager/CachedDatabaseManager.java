@@ -0,0 +1,495 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.core.db.manager;
+
+import org.wso2.ei.dashboard.core.exception.DashboardServerException;
+import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsQuery;
+import org.wso2.ei.dashboard.core.rest.delegates.heartbeat.HeartbeatObject;
+import org.wso2.ei.dashboard.core.rest.model.ArtifactDetails;
+import org.wso2.ei.dashboard.core.rest.model.Artifacts;
+import org.wso2.ei.dashboard.core.rest.model.ArtifactsInner;
+import org.wso2.ei.dashboard.core.rest.model.GroupList;
+import org.wso2.ei.dashboard.core.rest.model.NodeList;
+import org.wso2.ei.dashboard.core.rest.model.NodeListInner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Write-through cache in front of a database manager. Every write is applied to the underlying database first and
+ * then to an in-memory group -> node -> artifact type -> artifact index, and all reads are served from the index.
+ * The dashboard database is in-memory and is only written through this class, so the index always holds the same
+ * data as the database.
+ */
+public final class CachedDatabaseManager implements DatabaseManager {
+
+    // Heartbeat timestamps are written holding the locks of all nodes of a batch, hence batches are kept small.
+    private static final int HEARTBEAT_BATCH_SIZE = 100;
+
+    private final DatabaseManager databaseManager;
+    private final ConcurrentMap<String, ConcurrentNavigableMap<String, NodeEntry>> groups = new ConcurrentHashMap<>();
+
+    public CachedDatabaseManager(DatabaseManager databaseManager) {
+
+        this.databaseManager = databaseManager;
+    }
+
+    @Override
+    public boolean insertHeartbeat(HeartbeatObject heartbeat, String accessToken) {
+        return writeNode(heartbeat.getGroupId(), heartbeat.getNodeId(), node -> {
+            boolean isSuccess = databaseManager.insertHeartbeat(heartbeat, accessToken);
+            if (isSuccess) {
+                node.heartbeat = new HeartbeatEntry(heartbeat.getInterval(), heartbeat.getMgtApiUrl(),
+                                                    String.valueOf(heartbeat.getTimestamp()), accessToken);
+            }
+            return isSuccess;
+        });
+    }
+
+    @Override
+    public boolean insertServerInformation(HeartbeatObject heartbeat, String serverInfo) {
+        return writeNode(heartbeat.getGroupId(), heartbeat.getNodeId(), node -> {
+            boolean isSuccess = databaseManager.insertServerInformation(heartbeat, serverInfo);
+            if (isSuccess) {
+                node.serverInfo = serverInfo;
+            }
+            return isSuccess;
+        });
+    }
+
+    @Override
+    public boolean insertArtifact(String groupId, String nodeId, String artifactType, String artifactName,
+                                  String artifactDetails) {
+        return writeNode(groupId, nodeId, node -> {
+            boolean isSuccess = databaseManager.insertArtifact(groupId, nodeId, artifactType, artifactName,
+                                                               artifactDetails);
+            if (isSuccess) {
+                node.addArtifact(artifactType, artifactName, artifactDetails);
+            }
+            return isSuccess;
+        });
+    }
+
+    @Override
+    public boolean insertArtifacts(String groupId, String nodeId, String artifactType,
+                                   List<ArtifactRecord> artifacts) {
+        return writeNode(groupId, nodeId, node -> {
+            boolean isSuccess = databaseManager.insertArtifacts(groupId, nodeId, artifactType, artifacts);
+            if (isSuccess) {
+                for (ArtifactRecord artifact : artifacts) {
+                    node.addArtifact(artifactType, artifact.getName(), artifact.getDetails());
+                }
+            }
+            return isSuccess;
+        });
+    }
+
+    @Override
+    public GroupList fetchGroups() {
+        GroupList groupList = new GroupList();
+        for (Map.Entry<String, ConcurrentNavigableMap<String, NodeEntry>> group : groups.entrySet()) {
+            for (NodeEntry node : group.getValue().values()) {
+                if (node.heartbeat != null) {
+                    groupList.add(group.getKey());
+                    break;
+                }
+            }
+        }
+        return groupList;
+    }
+
+    @Override
+    public NodeList fetchNodes(String groupId) {
+        NodeList nodeList = new NodeList();
+        Map<String, NodeEntry> nodes = groups.get(groupId);
+        if (nodes == null) {
+            return nodeList;
+        }
+        for (Map.Entry<String, NodeEntry> node : nodes.entrySet()) {
+            String serverInfo = node.getValue().serverInfo;
+            if (serverInfo != null) {
+                NodeListInner nodeListInner = new NodeListInner();
+                nodeListInner.setNodeId(node.getKey());
+                nodeListInner.setDetails(serverInfo);
+                nodeList.add(nodeListInner);
+            }
+        }
+        return nodeList;
+    }
+
+    @Override
+    public Artifacts fetchArtifacts(String artifactType, String groupId, List<String> nodeList) {
+        return fetchArtifacts(artifactType, groupId, nodeList, ArtifactsQuery.ALL);
+    }
+
+    @Override
+    public Artifacts fetchArtifacts(String artifactType, String groupId, List<String> nodeList,
+                                    ArtifactsQuery artifactsQuery) {
+        Comparator<String> order = artifactsQuery.isDescending() ? Comparator.reverseOrder()
+                                                                   : Comparator.naturalOrder();
+        TreeMap<String, ArtifactsInner> artifactsByName = new TreeMap<>(order);
+        for (String nodeId : new TreeSet<>(nodeList)) {
+            NavigableMap<String, List<String>> nodeArtifacts = getArtifacts(artifactType, groupId, nodeId);
+            if (nodeArtifacts == null) {
+                continue;
+            }
+            if (artifactsQuery.getCursor() != null) {
+                nodeArtifacts = artifactsQuery.isDescending()
+                                ? nodeArtifacts.headMap(artifactsQuery.getCursor(), false)
+                                : nodeArtifacts.tailMap(artifactsQuery.getCursor(), false);
+            }
+            for (Map.Entry<String, List<String>> artifact : nodeArtifacts.entrySet()) {
+                if (!matchesSearch(artifactsQuery, artifact.getKey())) {
+                    continue;
+                }
+                ArtifactsInner artifactsInner = artifactsByName.computeIfAbsent(artifact.getKey(), name -> {
+                    ArtifactsInner inner = new ArtifactsInner();
+                    inner.setName(name);
+                    return inner;
+                });
+                for (String details : artifact.getValue()) {
+                    ArtifactDetails artifactDetails = new ArtifactDetails();
+                    artifactDetails.setNodeId(nodeId);
+                    artifactDetails.setDetails(details);
+                    artifactsInner.getNodes().add(artifactDetails);
+                }
+            }
+        }
+        Artifacts artifacts = new Artifacts();
+        int skipped = 0;
+        for (ArtifactsInner artifactsInner : artifactsByName.values()) {
+            if (artifactsQuery.isPaginated()) {
+                if (skipped++ < artifactsQuery.getOffset()) {
+                    continue;
+                }
+                if (artifacts.size() == artifactsQuery.getLimit()) {
+                    break;
+                }
+            }
+            artifacts.add(artifactsInner);
+        }
+        return artifacts;
+    }
+
+    @Override
+    public int countArtifacts(String artifactType, String groupId, List<String> nodeList,
+                              ArtifactsQuery artifactsQuery) {
+        Set<String> names = new HashSet<>();
+        for (String nodeId : nodeList) {
+            NavigableMap<String, List<String>> nodeArtifacts = getArtifacts(artifactType, groupId, nodeId);
+            if (nodeArtifacts == null) {
+                continue;
+            }
+            for (String name : nodeArtifacts.keySet()) {
+                if (matchesSearch(artifactsQuery, name)) {
+                    names.add(name);
+                }
+            }
+        }
+        return names.size();
+    }
+
+    @Override
+    public String getMgtApiUrl(String groupId, String nodeId) {
+        HeartbeatEntry heartbeat = getHeartbeat(groupId, nodeId);
+        return heartbeat == null ? "" : heartbeat.mgtApiUrl;
+    }
+
+    @Override
+    public String getAccessToken(String groupId, String nodeId) {
+        HeartbeatEntry heartbeat = getHeartbeat(groupId, nodeId);
+        return heartbeat == null ? "" : heartbeat.accessToken;
+    }
+
+    @Override
+    public String getHeartbeatInterval(String groupId, String nodeId) {
+        HeartbeatEntry heartbeat = getHeartbeat(groupId, nodeId);
+        if (heartbeat == null) {
+            throw new DashboardServerException("Error occurred while fetching heartbeat interval of group " + groupId
+                                               + " node " + nodeId);
+        }
+        return String.valueOf(heartbeat.interval);
+    }
+
+    @Override
+    public boolean checkIfTimestampExceedsInitial(HeartbeatObject heartbeat, String initialTimestamp) {
+        HeartbeatEntry heartbeatEntry = getHeartbeat(heartbeat.getGroupId(), heartbeat.getNodeId());
+        // Timestamps are stored as strings, so they are compared the same way the database compares them.
+        return heartbeatEntry != null && heartbeatEntry.timestamp.compareTo(initialTimestamp) > 0;
+    }
+
+    @Override
+    public String retrieveTimestampOfLastHeartbeat(String groupId, String nodeId) {
+        HeartbeatEntry heartbeat = getHeartbeat(groupId, nodeId);
+        return heartbeat == null ? null : heartbeat.timestamp;
+    }
+
+    @Override
+    public boolean updateHeartbeat(HeartbeatObject heartbeat) {
+        return writeNode(heartbeat.getGroupId(), heartbeat.getNodeId(), node -> {
+            boolean isSuccess = databaseManager.updateHeartbeat(heartbeat);
+            HeartbeatEntry current = node.heartbeat;
+            if (isSuccess && current != null) {
+                node.heartbeat = new HeartbeatEntry(current.interval, current.mgtApiUrl,
+                                                    String.valueOf(heartbeat.getTimestamp()), current.accessToken);
+            }
+            return isSuccess;
+        });
+    }
+
+    @Override
+    public boolean updateHeartbeats(List<HeartbeatObject> heartbeats) {
+        boolean isSuccess = true;
+        for (int from = 0; from < heartbeats.size(); from += HEARTBEAT_BATCH_SIZE) {
+            List<HeartbeatObject> batch = heartbeats.subList(from, Math.min(from + HEARTBEAT_BATCH_SIZE,
+                                                                            heartbeats.size()));
+            isSuccess &= updateHeartbeats(batch, 0, new ArrayList<>(), new ArrayList<>());
+        }
+        return isSuccess;
+    }
+
+    /**
+     * Takes the lock of each node of the batch in turn and writes the timestamps once all locks are held, so that
+     * the batch is ordered with the other writes of its nodes like any single write. Nodes which have been removed
+     * in the meantime are left out.
+     */
+    private boolean updateHeartbeats(List<HeartbeatObject> batch, int index, List<HeartbeatObject> heartbeats,
+                                     List<NodeEntry> nodes) {
+        if (index == batch.size()) {
+            boolean isSuccess = heartbeats.isEmpty() || databaseManager.updateHeartbeats(heartbeats);
+            for (int i = 0; isSuccess && i < heartbeats.size(); i++) {
+                NodeEntry node = nodes.get(i);
+                HeartbeatEntry current = node.heartbeat;
+                node.heartbeat = new HeartbeatEntry(current.interval, current.mgtApiUrl,
+                                                    String.valueOf(heartbeats.get(i).getTimestamp()),
+                                                    current.accessToken);
+            }
+            return isSuccess;
+        }
+        HeartbeatObject heartbeat = batch.get(index);
+        return writeNode(heartbeat.getGroupId(), heartbeat.getNodeId(), node -> {
+            if (node.heartbeat != null) {
+                heartbeats.add(heartbeat);
+                nodes.add(node);
+            }
+            return updateHeartbeats(batch, index + 1, heartbeats, nodes);
+        });
+    }
+
+    @Override
+    public boolean updateAccessToken(String groupId, String nodeId, String accessToken) {
+        return writeNode(groupId, nodeId, node -> {
+            boolean isSuccess = databaseManager.updateAccessToken(groupId, nodeId, accessToken);
+            HeartbeatEntry current = node.heartbeat;
+            if (isSuccess && current != null) {
+                node.heartbeat = new HeartbeatEntry(current.interval, current.mgtApiUrl, current.timestamp,
+                                                    accessToken);
+            }
+            return isSuccess;
+        });
+    }
+
+    @Override
+    public boolean updateDetails(String artifactType, String artifactName, String groupId, String nodeId,
+                                 String details) {
+        return writeNode(groupId, nodeId, node -> {
+            boolean isSuccess = databaseManager.updateDetails(artifactType, artifactName, groupId, nodeId, details);
+            ConcurrentNavigableMap<String, List<String>> nodeArtifacts = node.artifacts.get(artifactType);
+            if (isSuccess && nodeArtifacts != null) {
+                nodeArtifacts.replace(artifactName, Collections.singletonList(details));
+            }
+            return isSuccess;
+        });
+    }
+
+    @Override
+    public int deleteHeartbeat(HeartbeatObject heartbeat) {
+        return writeNode(heartbeat.getGroupId(), heartbeat.getNodeId(), node -> {
+            int deletedRows = databaseManager.deleteHeartbeat(heartbeat);
+            node.heartbeat = null;
+            return deletedRows;
+        });
+    }
+
+    @Override
+    public boolean deleteServerInformation(String groupId, String nodeId) {
+        return writeNode(groupId, nodeId, node -> {
+            boolean isSuccess = databaseManager.deleteServerInformation(groupId, nodeId);
+            node.serverInfo = null;
+            return isSuccess;
+        });
+    }
+
+    @Override
+    public boolean deleteAllArtifacts(String artifactType, String groupId, String nodeId) {
+        return writeNode(groupId, nodeId, node -> {
+            boolean isSuccess = databaseManager.deleteAllArtifacts(artifactType, groupId, nodeId);
+            node.artifacts.remove(artifactType);
+            return isSuccess;
+        });
+    }
+
+    @Override
+    public boolean deleteArtifact(String artifactType, String name, String groupId, String nodeId) {
+        return writeNode(groupId, nodeId, node -> {
+            boolean isSuccess = databaseManager.deleteArtifact(artifactType, name, groupId, nodeId);
+            node.removeArtifacts(artifactType, Collections.singletonList(name));
+            return isSuccess;
+        });
+    }
+
+    @Override
+    public boolean deleteArtifacts(String artifactType, List<String> names, String groupId, String nodeId) {
+        return writeNode(groupId, nodeId, node -> {
+            boolean isSuccess = databaseManager.deleteArtifacts(artifactType, names, groupId, nodeId);
+            node.removeArtifacts(artifactType, names);
+            return isSuccess;
+        });
+    }
+
+    /**
+     * Applies a write to the database and the cached node while holding the lock of the node, so that the cache
+     * applies the writes of a node in the same order as the database. Nodes left without any data are removed.
+     */
+    private <T> T writeNode(String groupId, String nodeId, Function<NodeEntry, T> write) {
+        while (true) {
+            NodeEntry node = getOrCreateNode(groupId, nodeId);
+            synchronized (node) {
+                if (node.removed) {
+                    continue;
+                }
+                try {
+                    return write.apply(node);
+                } finally {
+                    if (node.isEmpty()) {
+                        node.removed = true;
+                        groups.computeIfPresent(groupId, (group, nodes) -> {
+                            nodes.remove(nodeId, node);
+                            return nodes.isEmpty() ? null : nodes;
+                        });
+                    }
+                }
+            }
+        }
+    }
+
+    private NodeEntry getOrCreateNode(String groupId, String nodeId) {
+        NodeEntry[] node = new NodeEntry[1];
+        groups.compute(groupId, (group, nodes) -> {
+            if (nodes == null) {
+                nodes = new ConcurrentSkipListMap<>();
+            }
+            node[0] = nodes.computeIfAbsent(nodeId, id -> new NodeEntry());
+            return nodes;
+        });
+        return node[0];
+    }
+
+    private NodeEntry getNode(String groupId, String nodeId) {
+        Map<String, NodeEntry> nodes = groups.get(groupId);
+        return nodes == null ? null : nodes.get(nodeId);
+    }
+
+    private HeartbeatEntry getHeartbeat(String groupId, String nodeId) {
+        NodeEntry node = getNode(groupId, nodeId);
+        return node == null ? null : node.heartbeat;
+    }
+
+    private NavigableMap<String, List<String>> getArtifacts(String artifactType, String groupId, String nodeId) {
+        NodeEntry node = getNode(groupId, nodeId);
+        return node == null ? null : node.artifacts.get(artifactType);
+    }
+
+    private static boolean matchesSearch(ArtifactsQuery artifactsQuery, String name) {
+        return artifactsQuery.getSearch() == null || name.toLowerCase(Locale.ENGLISH).contains(
+                artifactsQuery.getSearch().toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Cached data of a node. Fields are written while holding the lock of the entry and read without locking.
+     */
+    private static final class NodeEntry {
+
+        private volatile HeartbeatEntry heartbeat;
+        private volatile String serverInfo;
+        private volatile boolean removed;
+        private final ConcurrentMap<String, ConcurrentNavigableMap<String, List<String>>> artifacts =
+                new ConcurrentHashMap<>();
+
+        private void addArtifact(String artifactType, String name, String details) {
+            // A node can have several artifacts of a type with the same name, e.g. sequence and endpoint templates.
+            artifacts.computeIfAbsent(artifactType, type -> new ConcurrentSkipListMap<>())
+                     .merge(name, Collections.singletonList(details), (current, added) -> {
+                         List<String> merged = new ArrayList<>(current);
+                         merged.addAll(added);
+                         return Collections.unmodifiableList(merged);
+                     });
+        }
+
+        private void removeArtifacts(String artifactType, List<String> names) {
+            ConcurrentNavigableMap<String, List<String>> nodeArtifacts = artifacts.get(artifactType);
+            if (nodeArtifacts == null) {
+                return;
+            }
+            for (String name : names) {
+                nodeArtifacts.remove(name);
+            }
+            if (nodeArtifacts.isEmpty()) {
+                artifacts.remove(artifactType);
+            }
+        }
+
+        private boolean isEmpty() {
+            return heartbeat == null && serverInfo == null && artifacts.isEmpty();
+        }
+    }
+
+    /**
+     * Heartbeat row of a node.
+     */
+    private static final class HeartbeatEntry {
+
+        private final Integer interval;
+        private final String mgtApiUrl;
+        private final String timestamp;
+        private final String accessToken;
+
+        private HeartbeatEntry(Integer interval, String mgtApiUrl, String timestamp, String accessToken) {
+
+            this.interval = interval;
+            this.mgtApiUrl = mgtApiUrl;
+            this.timestamp = timestamp;
+            this.accessToken = accessToken;
+        }
+    }
+}
@@ -20,6 +20,7 @@
 
 package org.wso2.ei.dashboard.core.db.manager;
 
+import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsQuery;
 import org.wso2.ei.dashboard.core.rest.delegates.heartbeat.HeartbeatObject;
 import org.wso2.ei.dashboard.core.rest.model.Artifacts;
 import org.wso2.ei.dashboard.core.rest.model.GroupList;
@@ -39,12 +40,18 @@ public interface DatabaseManager {
     boolean insertArtifact(String groupId, String nodeId, String artifactType, String artifactName,
                            String artifactDetails);
 
+    boolean insertArtifacts(String groupId, String nodeId, String artifactType, List<ArtifactRecord> artifacts);
+
     GroupList fetchGroups();
 
     NodeList fetchNodes(String groupId);
 
     Artifacts fetchArtifacts(String artifactType, String groupId, List<String> nodeList);
 
+    Artifacts fetchArtifacts(String artifactType, String groupId, List<String> nodeList, ArtifactsQuery artifactsQuery);
+
+    int countArtifacts(String artifactType, String groupId, List<String> nodeList, ArtifactsQuery artifactsQuery);
+
     String getMgtApiUrl(String groupId, String nodeId);
 
     String getAccessToken(String groupId, String nodeId);
@@ -57,6 +64,8 @@ public interface DatabaseManager {
 
     boolean updateHeartbeat(HeartbeatObject heartbeat);
 
+    boolean updateHeartbeats(List<HeartbeatObject> heartbeats);
+
     boolean updateAccessToken(String groupId, String nodeId, String accessToken);
 
     boolean updateDetails(String artifactType, String artifactName, String groupId, String nodeId, String details);
@@ -68,4 +77,6 @@ public interface DatabaseManager {
     boolean deleteAllArtifacts(String artifactType, String groupId, String nodeId);
 
     boolean deleteArtifact(String artifactType, String name, String groupId, String nodeId);
+
+    boolean deleteArtifacts(String artifactType, List<String> names, String groupId, String nodeId);
 }
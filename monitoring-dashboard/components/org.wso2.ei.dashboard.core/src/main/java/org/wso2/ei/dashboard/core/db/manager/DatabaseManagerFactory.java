@@ -32,20 +32,25 @@ public class DatabaseManagerFactory {
 
     }
 
-    private static DatabaseManager databaseManager;
+    private static volatile DatabaseManager databaseManager;
 
     public static DatabaseManager getDbManager() {
-          if (databaseManager == null) {
-              String connectionUrl = Constants.DATABASE_URL;
-              String dbType = getDbType(connectionUrl);
-              databaseManager = getDatabaseManager(dbType);
-          }
-          return databaseManager;
+        if (databaseManager == null) {
+            synchronized (DatabaseManagerFactory.class) {
+                if (databaseManager == null) {
+                    String connectionUrl = Constants.DATABASE_URL;
+                    String dbType = getDbType(connectionUrl);
+                    databaseManager = getDatabaseManager(dbType);
+                }
+            }
+        }
+        return databaseManager;
     }
 
     public static DatabaseManager getDatabaseManager(String dbType) {
         if ("jdbc".equals(dbType)) {
-            return new JDBCDatabaseManager();
+            // The cache holds the whole state of the database, hence there should be only one instance of it.
+            return new CachedDatabaseManager(new JDBCDatabaseManager());
         }
         throw new DashboardServerException("The database type " + dbType + " is not supported.");
     }
@@ -26,6 +26,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.ei.dashboard.core.commons.Constants;
 import org.wso2.ei.dashboard.core.exception.DashboardServerException;
+import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsQuery;
 import org.wso2.ei.dashboard.core.rest.delegates.heartbeat.HeartbeatObject;
 import org.wso2.ei.dashboard.core.rest.model.ArtifactDetails;
 import org.wso2.ei.dashboard.core.rest.model.Artifacts;
@@ -38,8 +39,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import javax.sql.DataSource;
 
@@ -120,6 +121,32 @@ public final class JDBCDatabaseManager implements DatabaseManager {
         }
     }
 
+    @Override
+    public boolean insertArtifacts(String groupId, String nodeId, String artifactType,
+                                   List<ArtifactRecord> artifacts) {
+        if (artifacts.isEmpty()) {
+            return true;
+        }
+        String query = "INSERT INTO " + getTableName(artifactType) + " VALUES (?,?,?,?);";
+        try (
+                Connection con = getConnection();
+                PreparedStatement statement = con.prepareStatement(query);
+        ) {
+            for (ArtifactRecord artifact : artifacts) {
+                statement.setString(1, groupId);
+                statement.setString(2, nodeId);
+                statement.setString(3, artifact.getName());
+                statement.setString(4, artifact.getDetails());
+                statement.addBatch();
+            }
+            executeBatchInTransaction(con, statement);
+            return true;
+        } catch (SQLException e) {
+            throw new DashboardServerException("Error occurred while inserting " + artifactType + " of node: "
+                                               + nodeId + " in group: " + groupId, e);
+        }
+    }
+
     @Override
     public GroupList fetchGroups() {
         String query = "SELECT DISTINCT GROUP_ID FROM HEARTBEAT;";
@@ -164,43 +191,59 @@ public final class JDBCDatabaseManager implements DatabaseManager {
 
     @Override
     public Artifacts fetchArtifacts(String artifactType, String groupId, List<String> nodeList) {
-        Artifacts artifacts = new Artifacts();
-
-        String nodeSearch = "";
-        String nodeSearchTmp = nodeSearch;
-        nodeList.forEach(node-> nodeSearchTmp.concat("NODE_ID=? OR "));
-        nodeSearch = nodeSearchTmp;
+        return fetchArtifacts(artifactType, groupId, nodeList, ArtifactsQuery.ALL);
+    }
 
-        for (int i = 0; i < nodeList.size(); i++) {
-            nodeSearch = nodeSearch.concat("NODE_ID=? OR ");
-        }
-        if (!nodeSearch.equals("")) {
-            nodeSearch = nodeSearch.substring(0, nodeSearch.length() - 4);
+    @Override
+    public Artifacts fetchArtifacts(String artifactType, String groupId, List<String> nodeList,
+                                    ArtifactsQuery artifactsQuery) {
+        Artifacts artifacts = new Artifacts();
+        if (nodeList.isEmpty()) {
+            return artifacts;
         }
         String tableName = getTableName(artifactType);
-        String getDistinctNamesQuery = "SELECT DISTINCT NAME FROM " + tableName + " WHERE GROUP_ID=? "
-                                       + "AND (" + nodeSearch + ");";
-        String getDetailsQuery = "SELECT NODE_ID, DETAILS FROM " + tableName + " WHERE NAME=? AND GROUP_ID=? AND " +
-                                  "(" + nodeSearch + ");";
-
+        String nodePlaceholders = getPlaceholders(nodeList.size());
+        String order = artifactsQuery.isDescending() ? " DESC" : "";
+        String query;
+        if (artifactsQuery.isPaginated()) {
+            // The page is selected over distinct names so that an artifact is not split across pages.
+            query = "SELECT A.NAME, A.NODE_ID, A.DETAILS FROM " + tableName + " A INNER JOIN (SELECT DISTINCT NAME "
+                    + "FROM " + tableName + " WHERE GROUP_ID=? AND NODE_ID IN (" + nodePlaceholders + ")"
+                    + getFilterConditions(artifactsQuery, true) + " ORDER BY NAME" + order
+                    + " OFFSET ? ROWS FETCH FIRST ? ROWS ONLY) P ON A.NAME=P.NAME WHERE A.GROUP_ID=? AND A.NODE_ID IN ("
+                    + nodePlaceholders + ") ORDER BY A.NAME" + order + ", A.NODE_ID;";
+        } else {
+            query = "SELECT NAME, NODE_ID, DETAILS FROM " + tableName + " WHERE GROUP_ID=? AND NODE_ID IN ("
+                    + nodePlaceholders + ")" + getFilterConditions(artifactsQuery, true) + " ORDER BY NAME" + order
+                    + ", NODE_ID;";
+        }
         try (
                 Connection con = getConnection();
-                PreparedStatement statement = con.prepareStatement(getDistinctNamesQuery);
-
+                PreparedStatement statement = con.prepareStatement(query);
         ) {
-            statement.setString(1, groupId);
-            for (int i = 0, j = 2; i < nodeList.size(); i++, j++) {
-                statement.setString(j, nodeList.get(i));
+            int index = setFilterParameters(statement, 1, groupId, nodeList, artifactsQuery, true);
+            if (artifactsQuery.isPaginated()) {
+                statement.setInt(index++, artifactsQuery.getOffset());
+                statement.setInt(index++, artifactsQuery.getLimit());
+                statement.setString(index++, groupId);
+                for (String nodeId : nodeList) {
+                    statement.setString(index++, nodeId);
+                }
             }
-            ResultSet resultSet = statement.executeQuery();
-            while (resultSet.next()) {
-                ArtifactsInner artifactsInner = new ArtifactsInner();
-                String artifactName = resultSet.getString("NAME");
-                artifactsInner.setName(artifactName);
-                List<ArtifactDetails> artifactDetails = getArtifactDetails(getDetailsQuery, artifactName, groupId,
-                                                                           nodeList);
-                artifactsInner.setNodes(artifactDetails);
-                artifacts.add(artifactsInner);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ArtifactsInner artifactsInner = null;
+                while (resultSet.next()) {
+                    String artifactName = resultSet.getString("NAME");
+                    if (artifactsInner == null || !artifactName.equals(artifactsInner.getName())) {
+                        artifactsInner = new ArtifactsInner();
+                        artifactsInner.setName(artifactName);
+                        artifacts.add(artifactsInner);
+                    }
+                    ArtifactDetails artifactDetails = new ArtifactDetails();
+                    artifactDetails.setNodeId(resultSet.getString("NODE_ID"));
+                    artifactDetails.setDetails(resultSet.getString("DETAILS"));
+                    artifactsInner.getNodes().add(artifactDetails);
+                }
             }
             return artifacts;
         } catch (SQLException e) {
@@ -208,6 +251,28 @@ public final class JDBCDatabaseManager implements DatabaseManager {
         }
     }
 
+    @Override
+    public int countArtifacts(String artifactType, String groupId, List<String> nodeList,
+                              ArtifactsQuery artifactsQuery) {
+        if (nodeList.isEmpty()) {
+            return 0;
+        }
+        String query = "SELECT COUNT(DISTINCT NAME) FROM " + getTableName(artifactType) + " WHERE GROUP_ID=? AND "
+                       + "NODE_ID IN (" + getPlaceholders(nodeList.size()) + ")"
+                       + getFilterConditions(artifactsQuery, false) + ";";
+        try (
+                Connection con = getConnection();
+                PreparedStatement statement = con.prepareStatement(query);
+        ) {
+            setFilterParameters(statement, 1, groupId, nodeList, artifactsQuery, false);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new DashboardServerException("Error occurred counting " + artifactType, e);
+        }
+    }
+
     @Override
     public String getMgtApiUrl(String groupId, String nodeId) {
         String query = "SELECT MGT_API_URL FROM HEARTBEAT WHERE GROUP_ID=? AND NODE_ID=?;";
@@ -327,6 +392,30 @@ public final class JDBCDatabaseManager implements DatabaseManager {
         }
     }
 
+    @Override
+    public boolean updateHeartbeats(List<HeartbeatObject> heartbeats) {
+        if (heartbeats.isEmpty()) {
+            return true;
+        }
+        String query = "UPDATE HEARTBEAT SET TIMESTAMP=? WHERE GROUP_ID=? AND NODE_ID=?;";
+        try (
+                Connection con = getConnection();
+                PreparedStatement statement = con.prepareStatement(query);
+        ) {
+            for (HeartbeatObject heartbeat : heartbeats) {
+                statement.setString(1, String.valueOf(heartbeat.getTimestamp()));
+                statement.setString(2, heartbeat.getGroupId());
+                statement.setString(3, heartbeat.getNodeId());
+                statement.addBatch();
+            }
+            executeBatchInTransaction(con, statement);
+            return true;
+        } catch (SQLException e) {
+            throw new DashboardServerException("Error occurred while updating heartbeat information of "
+                                               + heartbeats.size() + " nodes.", e);
+        }
+    }
+
     @Override
     public boolean updateAccessToken(String groupId, String nodeId, String accessToken) {
         String query = "UPDATE HEARTBEAT SET ACCESS_TOKEN=? WHERE GROUP_ID=? AND NODE_ID=?;";
@@ -439,33 +528,85 @@ public final class JDBCDatabaseManager implements DatabaseManager {
         }
     }
 
-    private List<ArtifactDetails> getArtifactDetails(String getServicesQuery, String artifactName, String groupId,
-                                                     List<String> nodeList) {
-
+    @Override
+    public boolean deleteArtifacts(String artifactType, List<String> names, String groupId, String nodeId) {
+        if (names.isEmpty()) {
+            return true;
+        }
+        logger.debug("Deleting " + names.size() + " " + artifactType + " in node: " + nodeId + " in group : "
+                     + groupId);
+        String query = "DELETE FROM " + getTableName(artifactType) + " WHERE GROUP_ID=? AND NODE_ID=? AND NAME=?;";
         try (
                 Connection con = getConnection();
-                PreparedStatement statement = con.prepareStatement(getServicesQuery);
+                PreparedStatement statement = con.prepareStatement(query);
         ) {
-            statement.setString(1, artifactName);
-            statement.setString(2, groupId);
-            for (int i = 0, j = 3; i < nodeList.size(); i++, j++) {
-                statement.setString(j, nodeList.get(i));
+            for (String name : names) {
+                statement.setString(1, groupId);
+                statement.setString(2, nodeId);
+                statement.setString(3, name);
+                statement.addBatch();
             }
-            ResultSet resultSet = statement.executeQuery();
-            List<ArtifactDetails> artifactDetailsList = new ArrayList<>();
-            while (resultSet.next()) {
-                ArtifactDetails artifactDetails = new ArtifactDetails();
-                String nodeId = resultSet.getString("NODE_ID");
-                String details = resultSet.getString("DETAILS");
+            executeBatchInTransaction(con, statement);
+            return true;
+        } catch (SQLException e) {
+            throw new DashboardServerException("Error occurred while deleting " + artifactType + " in node: "
+                                               + nodeId + " in group : " + groupId, e);
+        }
+    }
 
-                artifactDetails.setNodeId(nodeId);
-                artifactDetails.setDetails(details);
-                artifactDetailsList.add(artifactDetails);
-            }
-            return artifactDetailsList;
+    private void executeBatchInTransaction(Connection con, PreparedStatement statement) throws SQLException {
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try {
+            statement.executeBatch();
+            con.commit();
         } catch (SQLException e) {
-            throw new DashboardServerException("Error occurred while retrieving next row.", e);
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    private String getPlaceholders(int count) {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                placeholders.append(',');
+            }
+            placeholders.append('?');
+        }
+        return placeholders.toString();
+    }
+
+    private String getFilterConditions(ArtifactsQuery artifactsQuery, boolean applyCursor) {
+        StringBuilder conditions = new StringBuilder();
+        if (artifactsQuery.getSearch() != null) {
+            // Substring search cannot use the (GROUP_ID, NAME) indexes, hence it scans the names of the group. The
+            // indexes serve the ordering of the names and the cursor.
+            conditions.append(" AND LOWER(NAME) LIKE ? ESCAPE '\\'");
+        }
+        if (applyCursor && artifactsQuery.getCursor() != null) {
+            conditions.append(artifactsQuery.isDescending() ? " AND NAME<?" : " AND NAME>?");
+        }
+        return conditions.toString();
+    }
+
+    private int setFilterParameters(PreparedStatement statement, int index, String groupId, List<String> nodeList,
+                                    ArtifactsQuery artifactsQuery, boolean applyCursor) throws SQLException {
+        statement.setString(index++, groupId);
+        for (String nodeId : nodeList) {
+            statement.setString(index++, nodeId);
+        }
+        if (artifactsQuery.getSearch() != null) {
+            String search = artifactsQuery.getSearch().toLowerCase(Locale.ENGLISH).replace("\\", "\\\\")
+                                          .replace("%", "\\%").replace("_", "\\_");
+            statement.setString(index++, "%" + search + "%");
+        }
+        if (applyCursor && artifactsQuery.getCursor() != null) {
+            statement.setString(index++, artifactsQuery.getCursor());
         }
+        return index;
     }
 
     private String getTableName(String artifactType) {
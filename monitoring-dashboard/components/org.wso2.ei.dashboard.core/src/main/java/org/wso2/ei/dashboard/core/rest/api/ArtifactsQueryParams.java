@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.core.rest.api;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsQuery;
+
+import javax.ws.rs.QueryParam;
+
+/**
+ * Paging, sorting and name filtering query parameters shared by the artifact list endpoints.
+ */
+public class ArtifactsQueryParams {
+
+    @QueryParam("offset")
+    @Parameter(description = "Number of artifacts to skip")
+    private Integer offset;
+
+    @QueryParam("limit")
+    @Parameter(description = "Maximum number of artifacts to return")
+    private Integer limit;
+
+    @QueryParam("sort")
+    @Parameter(description = "Sort order of the artifact names")
+    private String sort;
+
+    @QueryParam("search")
+    @Parameter(description = "Text the artifact names contain")
+    private String search;
+
+    @QueryParam("cursor")
+    @Parameter(description = "Cursor of the next page")
+    private String cursor;
+
+    /**
+     * Creates the artifacts query from the query parameters of the request.
+     *
+     * @return artifacts query
+     * @throws ManagementApiException with error code 400 if a parameter is invalid
+     */
+    public ArtifactsQuery toArtifactsQuery() throws ManagementApiException {
+
+        return ArtifactsQuery.fromRequest(offset, limit, sort, search, cursor);
+    }
+}
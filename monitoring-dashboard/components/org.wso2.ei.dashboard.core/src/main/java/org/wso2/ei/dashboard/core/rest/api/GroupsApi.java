@@ -27,6 +27,8 @@ import org.apache.commons.logging.LogFactory;
 import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
 import org.wso2.ei.dashboard.core.exception.ManagementApiException;
 import org.wso2.ei.dashboard.core.rest.annotation.Secured;
+import org.wso2.ei.dashboard.core.rest.delegates.ArtifactDelegate;
+import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsQuery;
 import org.wso2.ei.dashboard.core.rest.delegates.groups.GroupDelegate;
 import org.wso2.ei.dashboard.core.rest.delegates.nodes.NodesDelegate;
 import org.wso2.ei.dashboard.core.rest.model.*;
@@ -34,7 +36,13 @@ import org.wso2.ei.dashboard.core.rest.model.*;
 import java.io.File;
 
 import javax.ws.rs.*;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -43,6 +51,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.wso2.ei.dashboard.core.rest.model.Error;
+import org.wso2.ei.dashboard.micro.integrator.commons.LogFileStream;
+import org.wso2.ei.dashboard.micro.integrator.commons.NodeBroadcaster;
 import org.wso2.ei.dashboard.micro.integrator.delegates.ApisDelegate;
 import org.wso2.ei.dashboard.micro.integrator.delegates.CarbonAppsDelegate;
 import org.wso2.ei.dashboard.micro.integrator.delegates.ConnectorsDelegate;
@@ -64,6 +74,9 @@ import org.wso2.ei.dashboard.micro.integrator.delegates.UsersDelegate;
 import com.google.gson.JsonObject;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.validation.constraints.*;
 import javax.validation.Valid;
 
@@ -125,14 +138,11 @@ public class GroupsApi {
         @ApiResponse(responseCode = "200", description = "User insert status", content = @Content(schema = @Schema(implementation = SuccessStatus.class))),
         @ApiResponse(responseCode = "200", description = "Unexpected error", content = @Content(schema = @Schema(implementation = Error.class)))
     })
-    public Response addUser(
+    public void addUser(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @Valid AddUserRequest request) throws ManagementApiException {
+            @Valid AddUserRequest request, @Suspended AsyncResponse asyncResponse) throws ManagementApiException {
         UsersDelegate usersDelegate = new UsersDelegate();
-        Ack ack = usersDelegate.addUser(groupId, request);
-        Response.ResponseBuilder responseBuilder = Response.ok().entity(ack);
-        HttpUtils.setHeaders(responseBuilder);
-        return responseBuilder.build();
+        resume(asyncResponse, usersDelegate.addUser(groupId, request));
     }
 
     @DELETE
@@ -144,14 +154,12 @@ public class GroupsApi {
                          content = @Content(schema = @Schema(implementation = SuccessStatus.class))),
             @ApiResponse(responseCode = "200", description = "Unexpected error", content =
             @Content(schema = @Schema(implementation = Error.class)))
-    }) public Response deleteUser(
+    }) public void deleteUser(
             @PathParam("group-id") @Parameter(description = "Group ID") String groupId,
-            @PathParam("user-id") @Parameter(description = "User ID") String userId) throws ManagementApiException {
+            @PathParam("user-id") @Parameter(description = "User ID") String userId,
+            @Suspended AsyncResponse asyncResponse) throws ManagementApiException {
         UsersDelegate usersDelegate = new UsersDelegate();
-        Ack ack = usersDelegate.deleteUser(groupId, userId);
-        Response.ResponseBuilder responseBuilder = Response.ok().entity(ack);
-        HttpUtils.setHeaders(responseBuilder);
-        return responseBuilder.build();
+        resume(asyncResponse, usersDelegate.deleteUser(groupId, userId));
     }
 
     @GET
@@ -166,13 +174,46 @@ public class GroupsApi {
     }) public Response getLogContent(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
             @PathParam("node-id") @Parameter(description = "Node id of the file") String nodeId,
-            @PathParam("file-name") @Parameter(description = "Log file name") String fileName) throws ManagementApiException {
+            @PathParam("file-name") @Parameter(description = "Log file name") String fileName,
+            @HeaderParam("Range") @Parameter(description = "Byte range of the log file") String range,
+            @HeaderParam("Accept-Encoding") @Parameter(description = "Accepted content encodings") String acceptEncoding)
+            throws ManagementApiException {
         LogsDelegate logsDelegate = new LogsDelegate();
-        String logContent = logsDelegate.getLogByName(groupId, nodeId, fileName);
-        Response.ResponseBuilder responseBuilder = Response.ok().entity(logContent);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ENGLISH).contains("gzip");
+        LogFileStream logStream = logsDelegate.getLogByName(groupId, nodeId, fileName, range, gzip);
+        Response.ResponseBuilder responseBuilder = Response.status(logStream.getStatus())
+                .header("Accept-Ranges", "bytes")
+                .header("Vary", "Accept-Encoding");
+        if (logStream.getStatus() != LogFileStream.SC_RANGE_NOT_SATISFIABLE) {
+            responseBuilder.entity(logStream);
+        }
+        if (logStream.getContentRange() != null) {
+            responseBuilder.header("Content-Range", logStream.getContentRange());
+        }
+        if (logStream.isCompressed()) {
+            responseBuilder.header("Content-Encoding", "gzip");
+        } else if (logStream.getContentLength() >= 0) {
+            responseBuilder.header("Content-Length", logStream.getContentLength());
+        }
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
+
+    @GET
+    @Path("/{group-id}/nodes/{node-id}/logs/{file-name}/tail")
+    @Produces({ MediaType.SERVER_SENT_EVENTS })
+    @Operation(summary = "Tail log file", description = "", tags={ "logFiles" })
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream of the lines appended to the log file.")
+    }) public void tailLogFile(
+            @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
+            @PathParam("node-id") @Parameter(description = "Node id of the file") String nodeId,
+            @PathParam("file-name") @Parameter(description = "Log file name") String fileName,
+            @Context SseEventSink eventSink, @Context Sse sse) {
+        LogsDelegate logsDelegate = new LogsDelegate();
+        logsDelegate.tailLog(groupId, nodeId, fileName, eventSink, sse);
+    }
+
     @GET
     @Path("/{group-id}/apis")
     @Produces({ "application/json" })
@@ -183,11 +224,13 @@ public class GroupsApi {
     })
     public Response getApisByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
-
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         ApisDelegate apisDelegate = new ApisDelegate();
-        Artifacts apiList = apisDelegate.getArtifactsList(groupId, nodes);
+        Artifacts apiList = apisDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(apiList);
+        setPaginationHeaders(responseBuilder, apisDelegate, groupId, nodes, query, apiList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -203,10 +246,13 @@ public class GroupsApi {
     })
     public Response getCarbonApplicationsByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         CarbonAppsDelegate cappsDelegate = new CarbonAppsDelegate();
-        Artifacts cappList = cappsDelegate.getArtifactsList(groupId, nodes);
+        Artifacts cappList = cappsDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(cappList);
+        setPaginationHeaders(responseBuilder, cappsDelegate, groupId, nodes, query, cappList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -222,13 +268,13 @@ public class GroupsApi {
     })
     public Response getFaultyCarbonApplicationsByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) 
-            throws ManagementApiException {
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
         CarbonAppsDelegate cappsDelegate = new CarbonAppsDelegate();
-        List<JsonObject> cappList = cappsDelegate.getAllCApps(groupId, nodes);
+        NodeBroadcaster.GatherResult<JsonObject> cappList = cappsDelegate.getAllCApps(groupId, nodes);
 
         CAppArtifactCollection collection = new CAppArtifactCollection();
-        for (JsonObject jsonObject : cappList) {
+        collection.setFailedNodes(cappList.getFailures());
+        for (JsonObject jsonObject : cappList.getResults().values()) {
             for (JsonElement jsonElement : jsonObject.getAsJsonArray("faultyList")) {
                 JsonObject entry = jsonElement.getAsJsonObject();
                 collection.getFaultyArtifacts().add(entry.get("name").getAsString());
@@ -251,16 +297,13 @@ public class GroupsApi {
             @ApiResponse(responseCode = "200", description = "Unexpected error",
                          content = @Content(schema = @Schema(implementation = Error.class)))
     })
-    public Response getCarbonApplicationArtifactsByNodeIds(
+    public void getCarbonApplicationArtifactsByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
             @PathParam("node-id") @Parameter(description = "Node ID") String nodeId,
-            @PathParam("capp-name") @Parameter(description = "Carbon application name") String cappName)
-            throws ManagementApiException {
+            @PathParam("capp-name") @Parameter(description = "Carbon application name") String cappName,
+            @Suspended AsyncResponse asyncResponse) throws ManagementApiException {
         CarbonAppsDelegate cappsDelegate = new CarbonAppsDelegate();
-        CAppArtifacts cAppArtifactList = cappsDelegate.getCAppArtifactList(groupId, nodeId, cappName);
-        Response.ResponseBuilder responseBuilder = Response.ok().entity(cAppArtifactList);
-        HttpUtils.setHeaders(responseBuilder);
-        return responseBuilder.build();
+        resume(asyncResponse, cappsDelegate.getCAppArtifactList(groupId, nodeId, cappName));
     }
 
     @GET
@@ -275,11 +318,13 @@ public class GroupsApi {
     })
     public Response getConnectorsByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
-
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         ConnectorsDelegate connectorsDelegate = new ConnectorsDelegate();
-        Artifacts connectorList = connectorsDelegate.getArtifactsList(groupId, nodes);
+        Artifacts connectorList = connectorsDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(connectorList);
+        setPaginationHeaders(responseBuilder, connectorsDelegate, groupId, nodes, query, connectorList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -294,11 +339,13 @@ public class GroupsApi {
                      content = @Content(schema = @Schema(implementation = Error.class)))})
     public Response getDataServicesByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
-
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         DataServicesDelegate dataServicesDelegate = new DataServicesDelegate();
-        Artifacts dataServicesList = dataServicesDelegate.getArtifactsList(groupId, nodes);
+        Artifacts dataServicesList = dataServicesDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(dataServicesList);
+        setPaginationHeaders(responseBuilder, dataServicesDelegate, groupId, nodes, query, dataServicesList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -312,11 +359,13 @@ public class GroupsApi {
     })
     public Response getDatasourcesByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
-
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         DataSourcesDelegate dataSourcesDelegate = new DataSourcesDelegate();
-        Artifacts dataSourcesList = dataSourcesDelegate.getArtifactsList(groupId, nodes);
+        Artifacts dataSourcesList = dataSourcesDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(dataSourcesList);
+        setPaginationHeaders(responseBuilder, dataSourcesDelegate, groupId, nodes, query, dataSourcesList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -332,11 +381,13 @@ public class GroupsApi {
     })
     public Response getEndpointsByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
-
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         EndpointsDelegate endpointsDelegate = new EndpointsDelegate();
-        Artifacts endpointList = endpointsDelegate.getArtifactsList(groupId, nodes);
+        Artifacts endpointList = endpointsDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(endpointList);
+        setPaginationHeaders(responseBuilder, endpointsDelegate, groupId, nodes, query, endpointList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -352,11 +403,13 @@ public class GroupsApi {
     })
     public Response getInboundEpsByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
-
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         InboundEndpointDelegate inboundEndpointDelegate = new InboundEndpointDelegate();
-        Artifacts inboundEndpointList = inboundEndpointDelegate.getArtifactsList(groupId, nodes);
+        Artifacts inboundEndpointList = inboundEndpointDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(inboundEndpointList);
+        setPaginationHeaders(responseBuilder, inboundEndpointDelegate, groupId, nodes, query, inboundEndpointList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -371,11 +424,13 @@ public class GroupsApi {
                      content = @Content(schema = @Schema(implementation = Error.class)))})
     public Response getLocalEntriesByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
-
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         LocalEntriesDelegate localEntriesDelegate = new LocalEntriesDelegate();
-        Artifacts localEntriesList = localEntriesDelegate.getArtifactsList(groupId, nodes);
+        Artifacts localEntriesList = localEntriesDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(localEntriesList);
+        setPaginationHeaders(responseBuilder, localEntriesDelegate, groupId, nodes, query, localEntriesList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -389,16 +444,14 @@ public class GroupsApi {
                          content = @Content(schema = @Schema(implementation = LocalEntryValue.class))),
             @ApiResponse(responseCode = "200", description = "Unexpected error",
                          content = @Content(schema = @Schema(implementation = Error.class)))})
-    public Response getLocalEntryValue(
+    public void getLocalEntryValue(
             @PathParam("group-id") @Parameter(description = "Group id of the node") String groupId,
             @PathParam("node-id") @Parameter(description = "Node id") String nodeId,
-            @PathParam("local-entry") @Parameter(description = "Local entry name") String localEntry) throws ManagementApiException {
+            @PathParam("local-entry") @Parameter(description = "Local entry name") String localEntry,
+            @Suspended AsyncResponse asyncResponse) throws ManagementApiException {
 
         LocalEntriesDelegate localEntriesDelegate = new LocalEntriesDelegate();
-        LocalEntryValue localEntryValue = localEntriesDelegate.getValue(groupId, nodeId, localEntry);
-        Response.ResponseBuilder responseBuilder = Response.ok().entity(localEntryValue);
-        HttpUtils.setHeaders(responseBuilder);
-        return responseBuilder.build();
+        resume(asyncResponse, localEntriesDelegate.getValue(groupId, nodeId, localEntry));
     }
 
     @GET
@@ -410,13 +463,11 @@ public class GroupsApi {
                      content = @Content(schema = @Schema(implementation = LogConfigs.class))),
         @ApiResponse(responseCode = "200", description = "Unexpected error",
                      content = @Content(schema = @Schema(implementation = Error.class)))
-    }) public Response getLogConfigs(
-            @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId) throws ManagementApiException {
+    }) public void getLogConfigs(
+            @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
+            @Suspended AsyncResponse asyncResponse) throws ManagementApiException {
         LogConfigDelegate logConfigDelegate = new LogConfigDelegate();
-        LogConfigs logConfigs = logConfigDelegate.fetchLogConfigs(groupId);
-        Response.ResponseBuilder responseBuilder = Response.ok().entity(logConfigs);
-        HttpUtils.setHeaders(responseBuilder);
-        return responseBuilder.build();
+        resume(asyncResponse, logConfigDelegate.fetchLogConfigs(groupId));
     }
 
     @GET
@@ -428,14 +479,12 @@ public class GroupsApi {
                          content = @Content(schema = @Schema(implementation = LogConfigs.class))),
             @ApiResponse(responseCode = "200", description = "Unexpected error",
                          content = @Content(schema = @Schema(implementation = Error.class)))
-    }) public Response getLogConfigsByNodeIds(
+    }) public void getLogConfigsByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @PathParam("node-id") @Parameter(description = "NodeId") String nodeId) throws ManagementApiException {
+            @PathParam("node-id") @Parameter(description = "NodeId") String nodeId,
+            @Suspended AsyncResponse asyncResponse) throws ManagementApiException {
         LogConfigDelegate logConfigDelegate = new LogConfigDelegate();
-        LogConfigs logConfigs = logConfigDelegate.fetchLogConfigsByNodeId(groupId, nodeId);
-        Response.ResponseBuilder responseBuilder = Response.ok().entity(logConfigs);
-        HttpUtils.setHeaders(responseBuilder);
-        return responseBuilder.build();
+        resume(asyncResponse, logConfigDelegate.fetchLogConfigsByNodeId(groupId, nodeId));
     }
 
     @PATCH
@@ -448,13 +497,13 @@ public class GroupsApi {
                          content = @Content(schema = @Schema(implementation = SuccessStatus.class))),
             @ApiResponse(responseCode = "200", description = "Unexpected error",
                          content = @Content(schema = @Schema(implementation = Error.class)))
-    }) public Response updateLogLevelByNodeId(
+    }) public void updateLogLevelByNodeId(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
             @PathParam("node-id") @Parameter(description = "NodeId") String nodeId,
-            @Valid LogConfigUpdateRequest request) throws ManagementApiException {
+            @Valid LogConfigUpdateRequest request, @Suspended AsyncResponse asyncResponse)
+            throws ManagementApiException {
         LogConfigDelegate logConfigDelegate = new LogConfigDelegate();
-        Ack ack = logConfigDelegate.updateLogLevelByNodeId(groupId, nodeId, request);
-        return Response.ok().entity(ack).build();
+        resume(asyncResponse, logConfigDelegate.updateLogLevelByNodeId(groupId, nodeId, request));
     }
 
     @GET
@@ -487,11 +536,13 @@ public class GroupsApi {
                      content = @Content(schema = @Schema(implementation = Error.class)))})
     public Response getMessageProcessorsByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
-
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         MessageProcessorsDelegate messageProcessorsDelegate = new MessageProcessorsDelegate();
-        Artifacts messageProcessorList = messageProcessorsDelegate.getArtifactsList(groupId, nodes);
+        Artifacts messageProcessorList = messageProcessorsDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(messageProcessorList);
+        setPaginationHeaders(responseBuilder, messageProcessorsDelegate, groupId, nodes, query, messageProcessorList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -507,11 +558,13 @@ public class GroupsApi {
     })
     public Response getMessageStoresByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
-
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         MessageStoresDelegate messageStoresDelegate = new MessageStoresDelegate();
-        Artifacts messageStoresList = messageStoresDelegate.getArtifactsList(groupId, nodes);
+        Artifacts messageStoresList = messageStoresDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(messageStoresList);
+        setPaginationHeaders(responseBuilder, messageStoresDelegate, groupId, nodes, query, messageStoresList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -528,10 +581,13 @@ public class GroupsApi {
     })
     public Response getProxyServicesByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes") List<String> nodes) {
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes") List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         ProxyServiceDelegate proxyServiceDelegate = new ProxyServiceDelegate();
-        Artifacts proxyList = proxyServiceDelegate.getArtifactsList(groupId, nodes);
+        Artifacts proxyList = proxyServiceDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(proxyList);
+        setPaginationHeaders(responseBuilder, proxyServiceDelegate, groupId, nodes, query, proxyList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -547,10 +603,13 @@ public class GroupsApi {
                      content = @Content(schema = @Schema(implementation = Error.class)))
     }) public Response getSequencesByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         SequencesDelegate sequencesDelegate = new SequencesDelegate();
-        Artifacts sequenceList = sequencesDelegate.getArtifactsList(groupId, nodes);
+        Artifacts sequenceList = sequencesDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(sequenceList);
+        setPaginationHeaders(responseBuilder, sequencesDelegate, groupId, nodes, query, sequenceList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -565,11 +624,13 @@ public class GroupsApi {
                      content = @Content(schema = @Schema(implementation = Error.class)))})
     public Response getTasksByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
-
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         TasksDelegate tasksDelegate = new TasksDelegate();
-        Artifacts tasksList = tasksDelegate.getArtifactsList(groupId, nodes);
+        Artifacts tasksList = tasksDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(tasksList);
+        setPaginationHeaders(responseBuilder, tasksDelegate, groupId, nodes, query, tasksList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -585,10 +646,13 @@ public class GroupsApi {
     })
     public Response getTemplatesByNodeIds(
             @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
-            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes) {
+            @NotNull  @QueryParam("nodes") @Parameter(description = "ID/IDs of the nodes")  List<String> nodes,
+            @BeanParam ArtifactsQueryParams queryParams) throws ManagementApiException {
+        ArtifactsQuery query = queryParams.toArtifactsQuery();
         TemplatesDelegate templatesDelegate = new TemplatesDelegate();
-        Artifacts templateList =templatesDelegate.getArtifactsList(groupId, nodes);
+        Artifacts templateList = templatesDelegate.getArtifactsList(groupId, nodes, query);
         Response.ResponseBuilder responseBuilder = Response.ok().entity(templateList);
+        setPaginationHeaders(responseBuilder, templatesDelegate, groupId, nodes, query, templateList);
         HttpUtils.setHeaders(responseBuilder);
         return responseBuilder.build();
     }
@@ -601,14 +665,12 @@ public class GroupsApi {
                      content = @Content(schema = @Schema(implementation = Users.class))),
         @ApiResponse(responseCode = "200", description = "Unexpected error",
                      content = @Content(schema = @Schema(implementation = Error.class)))})
-    public Response getUsers(
-            @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId) throws ManagementApiException {
+    public void getUsers(
+            @PathParam("group-id") @Parameter(description = "Group ID of the node") String groupId,
+            @Suspended AsyncResponse asyncResponse) throws ManagementApiException {
 
         UsersDelegate usersDelegate = new UsersDelegate();
-        Users users = usersDelegate.fetchUsers(groupId);
-        Response.ResponseBuilder responseBuilder = Response.ok().entity(users);
-        HttpUtils.setHeaders(responseBuilder);
-        return responseBuilder.build();
+        resume(asyncResponse, usersDelegate.fetchUsers(groupId));
     }
     @GET
     @Produces({ "application/json" })
@@ -766,4 +828,37 @@ public class GroupsApi {
 
         SequencesDelegate sequencesDelegate = new SequencesDelegate();
         return sequencesDelegate.updateArtifact(groupId, request);
-    }}
+    }
+
+    /**
+     * Resumes a suspended request once the management api call completes, so that the request thread is not held
+     * while waiting on the node. Failures are resumed with the underlying exception so that they are mapped to the
+     * same responses as the blocking resources.
+     */
+    private static void resume(AsyncResponse asyncResponse, CompletableFuture<?> result) {
+        result.whenComplete((entity, throwable) -> {
+            if (throwable == null) {
+                Response.ResponseBuilder responseBuilder = Response.ok().entity(entity);
+                HttpUtils.setHeaders(responseBuilder);
+                asyncResponse.resume(responseBuilder.build());
+            } else if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                asyncResponse.resume(throwable.getCause());
+            } else {
+                asyncResponse.resume(throwable);
+            }
+        });
+    }
+
+    private static void setPaginationHeaders(Response.ResponseBuilder responseBuilder, ArtifactDelegate delegate,
+                                             String groupId, List<String> nodes, ArtifactsQuery query,
+                                             Artifacts artifacts) {
+        if (!query.isPaginated()) {
+            return;
+        }
+        responseBuilder.header("X-Total-Count", delegate.getArtifactsCount(groupId, nodes, query));
+        if (artifacts.size() == query.getLimit()) {
+            String lastArtifactName = artifacts.get(artifacts.size() - 1).getName();
+            responseBuilder.header("X-Next-Cursor", ArtifactsQuery.createCursor(lastArtifactName));
+        }
+    }
+}
@@ -31,7 +31,9 @@ import java.util.List;
  * This interface represents the implementation of artifact delegates.
  */
 public interface ArtifactDelegate {
-    Artifacts getArtifactsList(String groupId, List<String> nodeList);
+    Artifacts getArtifactsList(String groupId, List<String> nodeList, ArtifactsQuery query);
+
+    int getArtifactsCount(String groupId, List<String> nodeList, ArtifactsQuery query);
 
     Ack updateArtifact(String groupId, ArtifactUpdateRequest request) throws ManagementApiException;
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.core.rest.delegates;
+
+import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Paging, sorting and name filtering options of an artifact list request. Pages are made of distinct artifact names,
+ * so an artifact deployed in several of the selected nodes is counted once.
+ */
+public class ArtifactsQuery {
+
+    public static final ArtifactsQuery ALL = new ArtifactsQuery(0, 0, false, null, null);
+
+    private static final String ASCENDING = "asc";
+    private static final String DESCENDING = "desc";
+    private static final int MAX_LIMIT = 1000;
+
+    private final int offset;
+    private final int limit;
+    private final boolean descending;
+    private final String search;
+    private final String cursor;
+
+    public ArtifactsQuery(int offset, int limit, boolean descending, String search, String cursor) {
+
+        this.offset = offset;
+        this.limit = limit;
+        this.descending = descending;
+        this.search = search;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Creates the query from the query parameters of an artifact list request.
+     *
+     * @param offset number of artifacts to skip, may be null
+     * @param limit  maximum number of artifacts to return, may be null for all artifacts
+     * @param sort   sort order of the artifact names, asc or desc, may be null
+     * @param search text the artifact names should contain, may be null
+     * @param cursor cursor returned with the previous page, may be null
+     * @return artifacts query
+     * @throws ManagementApiException with error code 400 if a parameter is invalid
+     */
+    public static ArtifactsQuery fromRequest(Integer offset, Integer limit, String sort, String search,
+                                             String cursor) throws ManagementApiException {
+        if (offset != null && offset < 0) {
+            throw new ManagementApiException("Offset should be a non-negative number", 400);
+        }
+        if (limit != null && (limit <= 0 || limit > MAX_LIMIT)) {
+            throw new ManagementApiException("Limit should be between 1 and " + MAX_LIMIT, 400);
+        }
+        if (sort != null && !ASCENDING.equalsIgnoreCase(sort) && !DESCENDING.equalsIgnoreCase(sort)) {
+            throw new ManagementApiException("Sort order should be either " + ASCENDING + " or " + DESCENDING, 400);
+        }
+        String lastName = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                lastName = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new ManagementApiException("Invalid cursor " + cursor, 400);
+            }
+        }
+        return new ArtifactsQuery(offset == null ? 0 : offset, limit == null ? 0 : limit,
+                                  DESCENDING.equalsIgnoreCase(sort), search == null || search.isEmpty() ? null : search,
+                                  lastName);
+    }
+
+    /**
+     * Creates the cursor of the page which follows the given artifact.
+     *
+     * @param lastArtifactName name of the last artifact of the current page
+     * @return cursor to be sent with the next request
+     */
+    public static String createCursor(String lastArtifactName) {
+        return Base64.getUrlEncoder().withoutPadding()
+                     .encodeToString(lastArtifactName.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getOffset() {
+
+        return offset;
+    }
+
+    public int getLimit() {
+
+        return limit;
+    }
+
+    public boolean isPaginated() {
+
+        return limit > 0;
+    }
+
+    public boolean isDescending() {
+
+        return descending;
+    }
+
+    public String getSearch() {
+
+        return search;
+    }
+
+    /**
+     * Returns the name of the last artifact of the previous page. Only artifacts sorted after this name are returned.
+     *
+     * @return last artifact name of the previous page, or null for the first page
+     */
+    public String getCursor() {
+
+        return cursor;
+    }
+}
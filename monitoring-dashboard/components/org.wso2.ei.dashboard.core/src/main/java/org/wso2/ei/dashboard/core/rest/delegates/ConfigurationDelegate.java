@@ -21,17 +21,15 @@
 package org.wso2.ei.dashboard.core.rest.delegates;
 
 import com.google.gson.JsonObject;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.ei.dashboard.core.commons.Constants;
 import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
 import org.wso2.ei.dashboard.core.commons.utils.ManagementApiUtils;
-import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
-import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
 import org.wso2.ei.dashboard.core.exception.DashboardServerException;
 import org.wso2.ei.dashboard.core.exception.ManagementApiException;
 import org.wso2.ei.dashboard.core.rest.model.ModelConfiguration;
+import org.wso2.ei.dashboard.micro.integrator.commons.AccessTokenStore;
 import org.wso2.ei.dashboard.micro.integrator.commons.Utils;
 
 /**
@@ -44,7 +42,6 @@ public class ConfigurationDelegate {
     private String artifactName;
 
     private static final Logger logger = LogManager.getLogger(ConfigurationDelegate.class);
-    private final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
 
     public ConfigurationDelegate(String groupId, String nodeId, String artifactType, String artifactName) {
         this.groupId = groupId;
@@ -60,10 +57,8 @@ public class ConfigurationDelegate {
         String queryParamName = getQueryParam(artifactType);
         String url = mgtApiUrl.concat(type).concat("?").concat(queryParamName).concat("=").concat(artifactName);
 
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
-        CloseableHttpResponse httpResponse = Utils.doGet(groupId, nodeId, accessToken, url);
-
-        JsonObject jsonResponse = HttpUtils.getJsonResponse(httpResponse);
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
+        JsonObject jsonResponse = Utils.doGet(groupId, nodeId, accessToken, url, HttpUtils::getJsonResponse);
         String configuration = jsonResponse.get("configuration").getAsString();
         ModelConfiguration modelConfiguration = new ModelConfiguration();
         modelConfiguration.setConfiguration(configuration);
@@ -20,6 +20,7 @@
 package org.wso2.ei.dashboard.core.rest.delegates.auth;
 
 import org.wso2.ei.dashboard.core.commons.auth.TokenCache;
+import org.wso2.ei.dashboard.core.commons.auth.ValidatedTokenCache;
 
 import javax.ws.rs.core.Response;
 
@@ -29,7 +30,7 @@ import javax.ws.rs.core.Response;
 public class LogoutDelegate {
 
     public Response logoutUser(String accessToken) {
-        if (accessToken.isEmpty()) {
+        if (!accessToken.isEmpty()) {
             removeTokenFromCache(accessToken);
         }
         return Response.ok().build();
@@ -37,5 +38,6 @@ public class LogoutDelegate {
 
     private void removeTokenFromCache(String accessToken) {
         TokenCache.getInstance().removeToken(accessToken);
+        ValidatedTokenCache.getInstance().invalidate(accessToken);
     }
 }
@@ -32,12 +32,9 @@ import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsManager;
 import org.wso2.ei.dashboard.core.rest.model.Ack;
 import org.wso2.ei.dashboard.core.rest.model.HeartbeatRequest;
 import org.wso2.ei.dashboard.micro.integrator.MiArtifactsManager;
+import org.wso2.ei.dashboard.micro.integrator.commons.AccessTokenStore;
 import org.wso2.ei.dashboard.streaming.integrator.SiArtifactsFetcher;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
 /**
  * Manages heartbeats received to the dashboard.
  */
@@ -45,9 +42,12 @@ public class HeartBeatDelegate {
     private static final Logger logger = LogManager.getLogger(HeartBeatDelegate.class);
     private static final String PRODUCT_MI = "mi";
     private static final String PRODUCT_SI = "si";
+    private static final int NODE_LOCK_STRIPES = 64;
+    private static final NodeLivenessTracker livenessTracker = new NodeLivenessTracker(
+            heartbeat -> new HeartBeatDelegate().removeNode(heartbeat),
+            heartbeats -> DatabaseManagerFactory.getDbManager().updateHeartbeats(heartbeats));
+    private static final Object[] nodeLocks = createNodeLocks();
     private final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
-    private final ScheduledExecutorService heartbeatScheduledExecutorService =
-            Executors.newScheduledThreadPool(0);
 
     public Ack processHeartbeat(HeartbeatRequest heartbeatRequest) throws ManagementApiException {
         long currentTimestamp = System.currentTimeMillis();
@@ -56,13 +56,14 @@ public class HeartBeatDelegate {
                 heartbeatRequest.getProduct(), heartbeatRequest.getGroupId(), heartbeatRequest.getNodeId(),
                 heartbeatRequest.getInterval(), heartbeatRequest.getMgtApiUrl(), currentTimestamp,
                 heartbeatRequest.getChangeNotification().getDeployedArtifacts(),
-                heartbeatRequest.getChangeNotification().getUndeployedArtifacts());
+                heartbeatRequest.getChangeNotification().getUndeployedArtifacts(),
+                heartbeatRequest.getChangeNotification().getArtifactDigests());
         boolean isSuccess;
         String productName = heartbeat.getProduct();
         ArtifactsManager artifactsManager = getArtifactManager(productName, heartbeat);
 
-        if (isNodeRegistered(heartbeat)) {
-            isSuccess = updateHeartbeat(heartbeat);
+        if (updateHeartbeat(heartbeat)) {
+            isSuccess = true;
             artifactsManager.runUpdateExecutorService();
         } else {
             isSuccess = registerNode(heartbeat);
@@ -70,7 +71,6 @@ public class HeartBeatDelegate {
                 artifactsManager.runFetchAllExecutorService();
             }
         }
-        runHeartbeatExecutorService(productName, heartbeat);
 
         if (isSuccess) {
             ack.setStatus(Constants.SUCCESS_STATUS);
@@ -78,10 +78,13 @@ public class HeartBeatDelegate {
         return ack;
     }
 
-    private boolean isNodeRegistered(HeartbeatObject heartbeat) {
-        String timestamp =
-                databaseManager.retrieveTimestampOfLastHeartbeat(heartbeat.getGroupId(), heartbeat.getNodeId());
-        return (null != timestamp && !timestamp.isEmpty());
+    /**
+     * Returns the registry which holds the last heartbeat of each registered node.
+     *
+     * @return node liveness tracker
+     */
+    public static NodeLivenessTracker getLivenessTracker() {
+        return livenessTracker;
     }
 
     private boolean updateHeartbeat(HeartbeatObject heartbeat) {
@@ -89,37 +92,39 @@ public class HeartBeatDelegate {
             logger.debug("Updating heartbeat information of node " + heartbeat.getNodeId() + " in group : " +
                       heartbeat.getGroupId());
         }
-        return databaseManager.updateHeartbeat(heartbeat);
+        return livenessTracker.recordHeartbeat(heartbeat);
     }
 
     private boolean registerNode(HeartbeatObject heartbeat) throws ManagementApiException {
         logger.info("New node " + heartbeat.getNodeId() + " in group : " + heartbeat.getGroupId() + " is registered." +
                  " Inserting heartbeat information");
         String accessToken = ManagementApiUtils.getAccessToken(heartbeat.getMgtApiUrl());
-        return databaseManager.insertHeartbeat(heartbeat, accessToken);
-    }
-
-    private void runHeartbeatExecutorService(String productName, HeartbeatObject heartbeat) {
-        long heartbeatInterval = heartbeat.getInterval();
-        String timestampOfRegisteredNode =
-                databaseManager.retrieveTimestampOfLastHeartbeat(heartbeat.getGroupId(), heartbeat.getNodeId());
-        Runnable runnableTask = () -> {
-            boolean isNodeDeregistered = isNodeShutDown(heartbeat, timestampOfRegisteredNode);
-            if (isNodeDeregistered) {
-                logger.info("Node : " + heartbeat.getNodeId() + " of group : " + heartbeat.getGroupId() + " has " +
-                         "de-registered. Hence deleting node information");
-                deleteNode(productName, heartbeat);
+        synchronized (getNodeLock(heartbeat)) {
+            // The state of a previous registration of the node has to be removed before this registration is stored,
+            // otherwise its pending removal would wipe the new state.
+            NodeRemovals.awaitPendingRemoval(heartbeat.getGroupId(), heartbeat.getNodeId());
+            boolean isSuccess = databaseManager.insertHeartbeat(heartbeat, accessToken);
+            if (isSuccess) {
+                AccessTokenStore.putAccessToken(heartbeat.getGroupId(), heartbeat.getNodeId(), accessToken);
+                livenessTracker.registerNode(heartbeat);
             }
-        };
-        heartbeatScheduledExecutorService.schedule(runnableTask, 3 * heartbeatInterval, TimeUnit.SECONDS);
-        heartbeatScheduledExecutorService.shutdown();
+            return isSuccess;
+        }
     }
 
-    private boolean isNodeShutDown(HeartbeatObject heartbeat, String initialTimestamp) {
-        return !databaseManager.checkIfTimestampExceedsInitial(heartbeat, initialTimestamp);
+    private void removeNode(HeartbeatObject heartbeat) {
+        logger.info("Node : " + heartbeat.getNodeId() + " of group : " + heartbeat.getGroupId() + " has " +
+                 "de-registered. Hence deleting node information");
+        deleteNode(heartbeat.getProduct(), heartbeat);
     }
 
     private void deleteNode(String productName, HeartbeatObject heartbeat) {
+        synchronized (getNodeLock(heartbeat)) {
+            deleteNodeData(productName, heartbeat);
+        }
+    }
+
+    private void deleteNodeData(String productName, HeartbeatObject heartbeat) {
         int rowCount = databaseManager.deleteHeartbeat(heartbeat);
         if (rowCount > 0) {
             logger.info("Successfully deleted node where group_id : " + heartbeat.getGroupId() + " and node_id : "
@@ -139,6 +144,23 @@ public class HeartBeatDelegate {
         artifactsManager.runDeleteAllExecutorService();
     }
 
+    /**
+     * Returns the lock which serializes the registration and the removal of a node. Locks are striped by node, so
+     * that nodes registering at the same time rarely wait for each other.
+     */
+    private static Object getNodeLock(HeartbeatObject heartbeat) {
+        String nodeKey = heartbeat.getGroupId() + "/" + heartbeat.getNodeId();
+        return nodeLocks[(nodeKey.hashCode() & Integer.MAX_VALUE) % nodeLocks.length];
+    }
+
+    private static Object[] createNodeLocks() {
+        Object[] locks = new Object[NODE_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
     private ArtifactsManager getArtifactManager(String productName, HeartbeatObject heartbeat) {
         if (productName.equals(PRODUCT_MI)) {
             return new MiArtifactsManager(heartbeat);
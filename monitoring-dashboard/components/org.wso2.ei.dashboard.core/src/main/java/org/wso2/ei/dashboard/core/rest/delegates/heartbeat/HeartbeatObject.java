@@ -23,6 +23,7 @@ package org.wso2.ei.dashboard.core.rest.delegates.heartbeat;
 import org.wso2.ei.dashboard.core.rest.model.UpdatedArtifact;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Heartbeat object class.
@@ -36,10 +37,12 @@ public class HeartbeatObject {
     private long timestamp;
     private List<UpdatedArtifact> deployedArtifacts;
     private List<UpdatedArtifact> undeployedArtifacts;
+    private Map<String, String> artifactDigests;
 
     public HeartbeatObject(
             String product, String groupId, String nodeId, Integer interval, String mgtApiUrl, long timestamp,
-            List<UpdatedArtifact> deployedArtifacts, List<UpdatedArtifact> undeployedArtifacts) {
+            List<UpdatedArtifact> deployedArtifacts, List<UpdatedArtifact> undeployedArtifacts,
+            Map<String, String> artifactDigests) {
 
         this.product = product;
         this.groupId = groupId;
@@ -49,6 +52,7 @@ public class HeartbeatObject {
         this.timestamp = timestamp;
         this.deployedArtifacts = deployedArtifacts;
         this.undeployedArtifacts = undeployedArtifacts;
+        this.artifactDigests = artifactDigests;
     }
 
     public String getProduct() {
@@ -130,4 +134,19 @@ public class HeartbeatObject {
 
         this.undeployedArtifacts = undeployedArtifacts;
     }
+
+    /**
+     * Returns the digests of the artifact types deployed in the node.
+     *
+     * @return digests keyed by artifact type, or null if the node does not send digests
+     */
+    public Map<String, String> getArtifactDigests() {
+
+        return artifactDigests;
+    }
+
+    public void setArtifactDigests(Map<String, String> artifactDigests) {
+
+        this.artifactDigests = artifactDigests;
+    }
 }
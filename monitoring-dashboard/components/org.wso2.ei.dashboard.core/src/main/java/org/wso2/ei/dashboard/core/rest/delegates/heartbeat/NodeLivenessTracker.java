@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.core.rest.delegates.heartbeat;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.micro.integrator.dashboard.utils.ExecutorServiceHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory registry of the nodes which send heartbeats to the dashboard, and the source of truth for their
+ * liveness. A heartbeat of a registered node only moves the deadline of the node forward without taking any lock,
+ * and a single sweeper thread expires the nodes which missed their deadline. A node stays queued once with the
+ * deadline it was queued with; when that deadline passes the sweeper either queues it again with the latest deadline
+ * or expires it. The same thread writes the latest heartbeat timestamps to the database in batches.
+ */
+public final class NodeLivenessTracker {
+
+    private static final Logger logger = LogManager.getLogger(NodeLivenessTracker.class);
+    private static final int MISSED_HEARTBEATS_TO_EXPIRE = 3;
+    private static final long TIMESTAMP_FLUSH_INTERVAL = 1000;
+    private static final long EXPIRED = -1;
+
+    private final ConcurrentMap<String, NodeDeadline> nodeDeadlines = new ConcurrentHashMap<>();
+    private final DelayQueue<NodeDeadline> expiryQueue = new DelayQueue<>();
+    private final Queue<NodeDeadline> updatedNodes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isSweeperStarted = new AtomicBoolean(false);
+    private final Consumer<HeartbeatObject> expiryHandler;
+    private final Consumer<List<HeartbeatObject>> timestampWriter;
+
+    /**
+     * Creates a tracker.
+     *
+     * @param expiryHandler   handler invoked in the sweeper thread with the last heartbeat of an expired node
+     * @param timestampWriter writer invoked in the sweeper thread with the last heartbeats of the nodes which received
+     *                        heartbeats since the previous write
+     */
+    public NodeLivenessTracker(Consumer<HeartbeatObject> expiryHandler,
+                               Consumer<List<HeartbeatObject>> timestampWriter) {
+
+        this.expiryHandler = expiryHandler;
+        this.timestampWriter = timestampWriter;
+    }
+
+    /**
+     * Registers a node which sent its first heartbeat.
+     *
+     * @param heartbeat first heartbeat of the node
+     */
+    public void registerNode(HeartbeatObject heartbeat) {
+        NodeDeadline nodeDeadline = new NodeDeadline(getNodeKey(heartbeat.getGroupId(), heartbeat.getNodeId()),
+                                                     heartbeat, getDeadline(heartbeat));
+        nodeDeadlines.put(nodeDeadline.nodeKey, nodeDeadline);
+        expiryQueue.put(nodeDeadline);
+        if (isSweeperStarted.compareAndSet(false, true)) {
+            ExecutorServiceHolder.getNodeLivenessExecutorService().execute(this::sweep);
+        }
+    }
+
+    /**
+     * Records a heartbeat of a registered node. The node expires if no other heartbeat is recorded within three
+     * heartbeat intervals.
+     *
+     * @param heartbeat received heartbeat
+     * @return false if the node is not registered or has just expired, in which case it should be registered again
+     */
+    public boolean recordHeartbeat(HeartbeatObject heartbeat) {
+        NodeDeadline nodeDeadline = nodeDeadlines.get(getNodeKey(heartbeat.getGroupId(), heartbeat.getNodeId()));
+        if (nodeDeadline == null) {
+            return false;
+        }
+        long deadline = getDeadline(heartbeat);
+        long currentDeadline;
+        do {
+            currentDeadline = nodeDeadline.deadline.get();
+            if (currentDeadline == EXPIRED) {
+                return false;
+            }
+        } while (!nodeDeadline.deadline.compareAndSet(currentDeadline, Math.max(currentDeadline, deadline)));
+        nodeDeadline.heartbeat = heartbeat;
+        if (nodeDeadline.isUpdated.compareAndSet(false, true)) {
+            updatedNodes.offer(nodeDeadline);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the last heartbeat received from a node.
+     *
+     * @param groupId group id of the node
+     * @param nodeId  node id
+     * @return last heartbeat, or null if the node is not registered
+     */
+    public HeartbeatObject getLastHeartbeat(String groupId, String nodeId) {
+        NodeDeadline nodeDeadline = nodeDeadlines.get(getNodeKey(groupId, nodeId));
+        return nodeDeadline == null ? null : nodeDeadline.heartbeat;
+    }
+
+    private void sweep() {
+        long nextFlush = System.currentTimeMillis() + TIMESTAMP_FLUSH_INTERVAL;
+        while (!Thread.currentThread().isInterrupted()) {
+            NodeDeadline queued;
+            try {
+                queued = expiryQueue.poll(Math.max(0, nextFlush - System.currentTimeMillis()),
+                                          TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (queued != null) {
+                checkDeadline(queued);
+            }
+            if (System.currentTimeMillis() >= nextFlush) {
+                writeTimestamps();
+                nextFlush = System.currentTimeMillis() + TIMESTAMP_FLUSH_INTERVAL;
+            }
+        }
+    }
+
+    private void checkDeadline(NodeDeadline queued) {
+        if (nodeDeadlines.get(queued.nodeKey) != queued) {
+            // The node was registered again, and the new registration is queued separately.
+            return;
+        }
+        long deadline = queued.deadline.get();
+        if (deadline <= System.currentTimeMillis() && queued.deadline.compareAndSet(deadline, EXPIRED)) {
+            nodeDeadlines.remove(queued.nodeKey, queued);
+            try {
+                expiryHandler.accept(queued.heartbeat);
+            } catch (RuntimeException e) {
+                logger.error("Error occurred while removing node " + queued.nodeKey, e);
+            }
+        } else {
+            queued.queuedDeadline = queued.deadline.get();
+            expiryQueue.put(queued);
+        }
+    }
+
+    private void writeTimestamps() {
+        List<HeartbeatObject> heartbeats = new ArrayList<>();
+        NodeDeadline nodeDeadline;
+        while ((nodeDeadline = updatedNodes.poll()) != null) {
+            nodeDeadline.isUpdated.set(false);
+            if (nodeDeadline.deadline.get() != EXPIRED) {
+                heartbeats.add(nodeDeadline.heartbeat);
+            }
+        }
+        if (heartbeats.isEmpty()) {
+            return;
+        }
+        try {
+            timestampWriter.accept(heartbeats);
+        } catch (RuntimeException e) {
+            logger.error("Error occurred while updating timestamps of " + heartbeats.size() + " nodes", e);
+        }
+    }
+
+    private static long getDeadline(HeartbeatObject heartbeat) {
+        return heartbeat.getTimestamp()
+               + TimeUnit.SECONDS.toMillis((long) MISSED_HEARTBEATS_TO_EXPIRE * heartbeat.getInterval());
+    }
+
+    private static String getNodeKey(String groupId, String nodeId) {
+        return groupId + "/" + nodeId;
+    }
+
+    /**
+     * Liveness state of a node. The queued deadline only changes while the entry is out of the expiry queue, so the
+     * ordering of the queue is never broken by heartbeats.
+     */
+    private static final class NodeDeadline implements Delayed {
+
+        private final String nodeKey;
+        private final AtomicLong deadline;
+        private final AtomicBoolean isUpdated = new AtomicBoolean(false);
+        private volatile HeartbeatObject heartbeat;
+        private long queuedDeadline;
+
+        private NodeDeadline(String nodeKey, HeartbeatObject heartbeat, long deadline) {
+
+            this.nodeKey = nodeKey;
+            this.heartbeat = heartbeat;
+            this.deadline = new AtomicLong(deadline);
+            this.queuedDeadline = deadline;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(queuedDeadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(queuedDeadline, ((NodeDeadline) other).queuedDeadline);
+        }
+    }
+}
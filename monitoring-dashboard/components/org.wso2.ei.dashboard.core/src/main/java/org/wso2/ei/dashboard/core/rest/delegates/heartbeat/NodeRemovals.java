@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.core.rest.delegates.heartbeat;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tracks the removals of expired nodes which are still pending, so that a node registering again does not have its new
+ * state wiped by the removal of its previous registration. A registration runs a pending removal of the node itself,
+ * or waits for it if the removal is already running.
+ */
+public final class NodeRemovals {
+
+    private static final Logger logger = LogManager.getLogger(NodeRemovals.class);
+    private static final Map<String, PendingRemoval> pendingRemovals = new ConcurrentHashMap<>();
+
+    private NodeRemovals() {
+
+    }
+
+    /**
+     * Schedules the removal of the stored state of an expired node.
+     *
+     * @param groupId  group id of the node
+     * @param nodeId   node id
+     * @param removal  removal of the node state
+     * @param executor executor to run the removal on
+     */
+    public static void schedule(String groupId, String nodeId, Runnable removal, Executor executor) {
+        String nodeKey = getKey(groupId, nodeId);
+        PendingRemoval pendingRemoval = new PendingRemoval(removal);
+        PendingRemoval previousRemoval = pendingRemovals.put(nodeKey, pendingRemoval);
+        if (previousRemoval != null) {
+            // The node is removed again before it registered, so the previous removal has to complete first.
+            previousRemoval.run(nodeKey);
+        }
+        try {
+            executor.execute(() -> run(nodeKey, pendingRemoval));
+        } catch (RejectedExecutionException e) {
+            run(nodeKey, pendingRemoval);
+        }
+    }
+
+    /**
+     * Completes the pending removal of a node, if any, before the node is registered again.
+     *
+     * @param groupId group id of the node
+     * @param nodeId  node id
+     */
+    public static void awaitPendingRemoval(String groupId, String nodeId) {
+        String nodeKey = getKey(groupId, nodeId);
+        PendingRemoval pendingRemoval = pendingRemovals.get(nodeKey);
+        if (pendingRemoval != null) {
+            run(nodeKey, pendingRemoval);
+        }
+    }
+
+    private static void run(String nodeKey, PendingRemoval pendingRemoval) {
+        pendingRemoval.run(nodeKey);
+        pendingRemovals.remove(nodeKey, pendingRemoval);
+    }
+
+    private static String getKey(String groupId, String nodeId) {
+        return groupId + "/" + nodeId;
+    }
+
+    /**
+     * Removal of a node, which runs once on whichever thread gets to it first. Other threads wait until it completes.
+     */
+    private static final class PendingRemoval {
+
+        private final Runnable removal;
+        private final AtomicBoolean isStarted = new AtomicBoolean(false);
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        private PendingRemoval(Runnable removal) {
+            this.removal = removal;
+        }
+
+        private void run(String nodeKey) {
+            if (!isStarted.compareAndSet(false, true)) {
+                completion.join();
+                return;
+            }
+            try {
+                removal.run();
+            } catch (RuntimeException e) {
+                logger.error("Error occurred while removing node " + nodeKey, e);
+            } finally {
+                completion.complete(null);
+            }
+        }
+    }
+}
@@ -23,15 +23,17 @@ package org.wso2.ei.dashboard.core.rest.delegates.nodes;
 import com.google.gson.JsonObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
 import org.wso2.ei.dashboard.core.commons.utils.ManagementApiUtils;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
 import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+import org.wso2.ei.dashboard.core.rest.delegates.heartbeat.HeartBeatDelegate;
+import org.wso2.ei.dashboard.core.rest.delegates.heartbeat.HeartbeatObject;
 import org.wso2.ei.dashboard.core.rest.model.ManageServerRuntimeRequest;
 import org.wso2.ei.dashboard.core.rest.model.NodeList;
 import org.wso2.ei.dashboard.core.rest.model.NodeListInner;
+import org.wso2.ei.dashboard.micro.integrator.commons.AccessTokenStore;
 import org.wso2.ei.dashboard.micro.integrator.commons.Utils;
 
 /**
@@ -45,32 +47,50 @@ public class NodesDelegate {
         logger.debug("Fetching node list in " + groupId + " from database.");
         NodeList nodeList = databaseManager.fetchNodes(groupId);
         for (NodeListInner nodeListInner : nodeList) {
-            String nodeId = nodeListInner.getNodeId();
-            long heartbeatInterval = Long.parseLong(databaseManager.getHeartbeatInterval(groupId, nodeId));
-            long lastTimestamp = Long.parseLong(databaseManager.retrieveTimestampOfLastHeartbeat(groupId, nodeId));
-            long currentTimestamp = System.currentTimeMillis();
-            // check if the node is unhealthy. If the server does not receive a heartbeat by
-            // at least 1.5 * heartbeat_interval, the node will be denoted as unhealthy.
-            if ((currentTimestamp - lastTimestamp) > heartbeatInterval * 1500) {
-                nodeListInner.setStatus("unhealthy");
-            } else {
+            if (isHealthy(groupId, nodeListInner.getNodeId())) {
                 nodeListInner.setStatus("healthy");
+            } else {
+                nodeListInner.setStatus("unhealthy");
             }
         }
         return nodeList;
     }
 
+    /**
+     * Checks whether a node is healthy. If the server does not receive a heartbeat by at least
+     * 1.5 * heartbeat_interval, the node is denoted as unhealthy.
+     *
+     * @param groupId group id of the node
+     * @param nodeId  node id
+     * @return true if the node sent a heartbeat recently
+     */
+    public static boolean isHealthy(String groupId, String nodeId) {
+        HeartbeatObject lastHeartbeat = HeartBeatDelegate.getLivenessTracker().getLastHeartbeat(groupId, nodeId);
+        long currentTimestamp = System.currentTimeMillis();
+        return lastHeartbeat != null
+               && (currentTimestamp - lastHeartbeat.getTimestamp()) <= lastHeartbeat.getInterval() * 1500L;
+    }
+
+    /**
+     * Checks whether a node is registered, i.e. it has not expired since its last registration.
+     *
+     * @param groupId group id of the node
+     * @param nodeId  node id
+     * @return true if the node is registered
+     */
+    public static boolean isRegistered(String groupId, String nodeId) {
+        return HeartBeatDelegate.getLivenessTracker().getLastHeartbeat(groupId, nodeId) != null;
+    }
+
     public JsonObject manageNode(String groupId, String nodeId, ManageServerRuntimeRequest request)
             throws ManagementApiException {
         logger.debug("Managing the server runtime from management console");
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
         String url = mgtApiUrl.concat("server");
 
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
         JsonObject payload = createManageNodePayload(request);
-        CloseableHttpResponse httpResponse = Utils.doPatch(groupId, nodeId, accessToken, url, payload);
-        JsonObject jsonResponse = HttpUtils.getJsonResponse(httpResponse);
-        return jsonResponse;
+        return Utils.doPatch(groupId, nodeId, accessToken, url, payload, HttpUtils::getJsonResponse);
     }
 
     private JsonObject createManageNodePayload(ManageServerRuntimeRequest request) {
@@ -20,6 +20,8 @@
 
 package org.wso2.ei.dashboard.core.rest.model;
 
+import java.util.List;
+import org.wso2.ei.dashboard.core.rest.model.NodeAck;
 import javax.validation.constraints.*;
 import javax.validation.Valid;
 
@@ -32,6 +34,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class Ack   {
   private @Valid String status = null;
   private @Valid String message = null;
+  private @Valid List<NodeAck> results = null;
 
   public Ack(String status) {
     this.status = status;
@@ -73,6 +76,24 @@ public class Ack   {
     this.message = message;
   }
 
+  /**
+   **/
+  public Ack results(List<NodeAck> results) {
+    this.results = results;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "")
+  @JsonProperty("results")
+
+  public List<NodeAck> getResults() {
+    return results;
+  }
+  public void setResults(List<NodeAck> results) {
+    this.results = results;
+  }
+
 
   @Override
   public boolean equals(java.lang.Object o) {
@@ -84,12 +105,13 @@ public class Ack   {
     }
     Ack ack = (Ack) o;
     return Objects.equals(status, ack.status) &&
-        Objects.equals(message, ack.message);
+        Objects.equals(message, ack.message) &&
+        Objects.equals(results, ack.results);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(status, message);
+    return Objects.hash(status, message, results);
   }
 
   @Override
@@ -99,6 +121,7 @@ public class Ack   {
     
     sb.append("    status: ").append(toIndentedString(status)).append("\n");
     sb.append("    message: ").append(toIndentedString(message)).append("\n");
+    sb.append("    results: ").append(toIndentedString(results)).append("\n");
     sb.append("}");
     return sb.toString();
   }
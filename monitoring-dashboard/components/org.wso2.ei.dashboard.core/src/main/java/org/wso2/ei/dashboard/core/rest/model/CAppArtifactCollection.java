@@ -29,6 +29,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class CAppArtifactCollection {
   private @Valid List<String> faultyArtifacts = new ArrayList<String>();
+  private @Valid List<NodeAck> failedNodes = new ArrayList<NodeAck>();
 
   /**
    **/
@@ -48,6 +49,24 @@ public class CAppArtifactCollection {
     this.faultyArtifacts = faultyArtifacts;
   }
 
+  /**
+   **/
+  public CAppArtifactCollection failedNodes(List<NodeAck> failedNodes) {
+    this.failedNodes = failedNodes;
+    return this;
+  }
+
+  @ApiModelProperty(value = "")
+  @JsonProperty("failedNodes")
+
+  public List<NodeAck> getFailedNodes() {
+    return failedNodes;
+  }
+
+  public void setFailedNodes(List<NodeAck> failedNodes) {
+    this.failedNodes = failedNodes;
+  }
+
   @Override
   public boolean equals(java.lang.Object o) {
     if (this == o) {
@@ -57,12 +76,13 @@ public class CAppArtifactCollection {
       return false;
     }
     CAppArtifactCollection cappArtifactCollection = (CAppArtifactCollection) o;
-    return Objects.equals(faultyArtifacts, cappArtifactCollection.faultyArtifacts);
+    return Objects.equals(faultyArtifacts, cappArtifactCollection.faultyArtifacts) &&
+        Objects.equals(failedNodes, cappArtifactCollection.failedNodes);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(faultyArtifacts);
+    return Objects.hash(faultyArtifacts, failedNodes);
   }
 
   @Override
@@ -71,6 +91,7 @@ public class CAppArtifactCollection {
     sb.append("class CAppArtifactCollection {\n");
 
     sb.append("    faultyArtifacts: ").append(toIndentedString(faultyArtifacts)).append("\n");
+    sb.append("    failedNodes: ").append(toIndentedString(failedNodes)).append("\n");
     sb.append("}");
     return sb.toString();
   }
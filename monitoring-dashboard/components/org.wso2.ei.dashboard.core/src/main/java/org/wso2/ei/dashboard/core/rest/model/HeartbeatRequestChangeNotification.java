@@ -2,6 +2,7 @@ package org.wso2.ei.dashboard.core.rest.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.wso2.ei.dashboard.core.rest.model.UpdatedArtifact;
 import javax.validation.constraints.*;
 import javax.validation.Valid;
@@ -15,6 +16,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class HeartbeatRequestChangeNotification   {
   private @Valid List<UpdatedArtifact> deployedArtifacts = new ArrayList<UpdatedArtifact>();
   private @Valid List<UpdatedArtifact> undeployedArtifacts = new ArrayList<UpdatedArtifact>();
+  private @Valid Map<String, String> artifactDigests = null;
 
   /**
    **/
@@ -52,6 +54,25 @@ public class HeartbeatRequestChangeNotification   {
     this.undeployedArtifacts = undeployedArtifacts;
   }
 
+  /**
+   * Digest of the artifact names of each artifact type deployed in the node.
+   **/
+  public HeartbeatRequestChangeNotification artifactDigests(Map<String, String> artifactDigests) {
+    this.artifactDigests = artifactDigests;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "Digest of the artifact names of each artifact type deployed in the node.")
+  @JsonProperty("artifactDigests")
+
+  public Map<String, String> getArtifactDigests() {
+    return artifactDigests;
+  }
+  public void setArtifactDigests(Map<String, String> artifactDigests) {
+    this.artifactDigests = artifactDigests;
+  }
+
 
   @Override
   public boolean equals(java.lang.Object o) {
@@ -63,12 +84,13 @@ public class HeartbeatRequestChangeNotification   {
     }
     HeartbeatRequestChangeNotification heartbeatRequestChangeNotification = (HeartbeatRequestChangeNotification) o;
     return Objects.equals(deployedArtifacts, heartbeatRequestChangeNotification.deployedArtifacts) &&
-        Objects.equals(undeployedArtifacts, heartbeatRequestChangeNotification.undeployedArtifacts);
+        Objects.equals(undeployedArtifacts, heartbeatRequestChangeNotification.undeployedArtifacts) &&
+        Objects.equals(artifactDigests, heartbeatRequestChangeNotification.artifactDigests);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(deployedArtifacts, undeployedArtifacts);
+    return Objects.hash(deployedArtifacts, undeployedArtifacts, artifactDigests);
   }
 
   @Override
@@ -78,6 +100,7 @@ public class HeartbeatRequestChangeNotification   {
     
     sb.append("    deployedArtifacts: ").append(toIndentedString(deployedArtifacts)).append("\n");
     sb.append("    undeployedArtifacts: ").append(toIndentedString(undeployedArtifacts)).append("\n");
+    sb.append("    artifactDigests: ").append(toIndentedString(artifactDigests)).append("\n");
     sb.append("}");
     return sb.toString();
   }
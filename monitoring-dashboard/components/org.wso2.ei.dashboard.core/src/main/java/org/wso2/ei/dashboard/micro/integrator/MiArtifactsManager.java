@@ -20,13 +20,11 @@
 
 package org.wso2.ei.dashboard.micro.integrator;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
+import org.wso2.ei.dashboard.core.db.manager.ArtifactRecord;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
 import org.wso2.ei.dashboard.core.exception.DashboardServerException;
@@ -34,15 +32,33 @@ import org.wso2.ei.dashboard.core.exception.ManagementApiException;
 import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsManager;
 import org.wso2.ei.dashboard.core.rest.delegates.UpdateArtifactObject;
 import org.wso2.ei.dashboard.core.rest.delegates.heartbeat.HeartbeatObject;
+import org.wso2.ei.dashboard.core.rest.delegates.heartbeat.NodeRemovals;
+import org.wso2.ei.dashboard.core.rest.delegates.nodes.NodesDelegate;
+import org.wso2.ei.dashboard.core.rest.model.ArtifactsInner;
 import org.wso2.ei.dashboard.core.rest.model.UpdatedArtifact;
+import org.wso2.ei.dashboard.micro.integrator.commons.AccessTokenStore;
+import org.wso2.ei.dashboard.micro.integrator.commons.ArtifactDigests;
+import org.wso2.ei.dashboard.micro.integrator.commons.ArtifactRetryQueue;
+import org.wso2.ei.dashboard.micro.integrator.commons.NodeCircuitBreaker;
+import org.wso2.ei.dashboard.micro.integrator.commons.NodeRequestLimiter;
+import org.wso2.ei.dashboard.micro.integrator.commons.NodeUpdateCoalescer;
 import org.wso2.ei.dashboard.micro.integrator.commons.Utils;
+import org.wso2.ei.dashboard.micro.integrator.delegates.CarbonAppsDelegate;
 import org.wso2.micro.integrator.dashboard.utils.ExecutorServiceHolder;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
 import static org.wso2.ei.dashboard.core.commons.Constants.APIS;
 import static org.wso2.ei.dashboard.core.commons.Constants.CARBON_APPLICATIONS;
@@ -88,26 +104,24 @@ public class MiArtifactsManager implements ArtifactsManager {
             String nodeId = heartbeat.getNodeId();
             String groupId = heartbeat.getGroupId();
             logger.info("Fetching artifacts from node " + nodeId + " in group " + groupId);
-            String accessToken = databaseManager.getAccessToken(groupId, nodeId);
-            CloseableHttpResponse response = null;
+            String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
             try {
-                for (String artifactType : ALL_ARTIFACTS) {
-                    final String url = heartbeat.getMgtApiUrl().concat(artifactType);
-                    response = Utils.doGet(groupId, nodeId, accessToken, url);
-                    JsonObject artifacts = HttpUtils.getJsonResponse(response);
-                    switch (artifactType) {
-                        case TEMPLATES:
-                            processTemplates(artifactType, artifacts);
-                            break;
-                        default:
-                            processArtifacts(accessToken, artifactType, artifacts);
-                            break;
-                    }
-                }
+                fetchArtifacts(getNonEmptyArtifactTypes(), accessToken, false);
                 fetchAndStoreServers(accessToken);
             } catch (ManagementApiException e) {
                 logger.error("Unable to fetch artifacts/details from node: {} of group: {} due to {} ", nodeId,
                         groupId, e.getMessage(), e);
+                addToDelayedQueue(SERVER, "", () -> {
+                    String serverInfo = fetchServerInfo(AccessTokenStore.getAccessToken(groupId, nodeId));
+                    return databaseManager.insertServerInformation(heartbeat, serverInfo);
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Fetching artifacts from node " + nodeId + " in group " + groupId + " was interrupted");
+            } finally {
+                // Types which failed to sync are retried from the delayed queue, hence the digests of the node can
+                // be checked from now on.
+                ArtifactDigests.markInitialSyncComplete(groupId, nodeId);
             }
         };
         ExecutorServiceHolder.getMiArtifactsManagerExecutorService().execute(runnable);
@@ -115,88 +129,395 @@ public class MiArtifactsManager implements ArtifactsManager {
 
     @Override
     public void runUpdateExecutorService() {
-        Runnable runnable = () -> {
-           List<UpdatedArtifact> undeployedArtifacts = heartbeat.getUndeployedArtifacts();
-           for (UpdatedArtifact artifact : undeployedArtifacts) {
-               deleteArtifact(artifact.getType(), artifact.getName());
-           }
+        NodeUpdateCoalescer.submit(heartbeat, update -> new MiArtifactsManager(update).updateArtifacts());
+    }
 
-           List<UpdatedArtifact> deployedArtifacts = heartbeat.getDeployedArtifacts();
-            try {
-                for (UpdatedArtifact info : deployedArtifacts) {
-                    fetchAndStoreArtifact(info);
+    /**
+     * Applies the artifact changes carried by the heartbeat. Artifacts of types whose digests do not match the
+     * stored artifacts are fetched again as a whole, once the initial sync of the node has finished. Before that the
+     * stored artifacts are incomplete, and fetching a type again would delete the rows the initial sync is writing.
+     */
+    private void updateArtifacts() {
+        if (!NodesDelegate.isRegistered(heartbeat.getGroupId(), heartbeat.getNodeId())) {
+            // The node expired while the update was pending.
+            return;
+        }
+        Map<String, List<String>> undeployedArtifacts = new HashMap<>();
+        for (UpdatedArtifact artifact : heartbeat.getUndeployedArtifacts()) {
+            undeployedArtifacts.computeIfAbsent(artifact.getType(), type -> new ArrayList<>())
+                               .add(artifact.getName());
+        }
+        for (Map.Entry<String, List<String>> artifacts : undeployedArtifacts.entrySet()) {
+            deleteArtifacts(artifacts.getKey(), artifacts.getValue());
+        }
+
+        Map<String, List<UpdatedArtifact>> deployedArtifacts = new HashMap<>();
+        for (UpdatedArtifact artifact : heartbeat.getDeployedArtifacts()) {
+            deployedArtifacts.computeIfAbsent(artifact.getType(), type -> new ArrayList<>()).add(artifact);
+        }
+        Set<String> changedArtifactTypes =
+                ArtifactDigests.isInitialSyncComplete(heartbeat.getGroupId(), heartbeat.getNodeId())
+                ? getChangedArtifactTypes(deployedArtifacts) : Collections.emptySet();
+        // An update may run alongside a full sync or a retry of the node, hence it shares the permits of the node.
+        Semaphore permits = NodeRequestLimiter.getPermits(heartbeat.getGroupId(), heartbeat.getNodeId());
+        for (Map.Entry<String, List<UpdatedArtifact>> artifacts : deployedArtifacts.entrySet()) {
+            if (changedArtifactTypes.contains(artifacts.getKey())) {
+                // All artifacts of the type are fetched below.
+                continue;
+            }
+            List<ArtifactRecord> records = new ArrayList<>();
+            for (UpdatedArtifact info : artifacts.getValue()) {
+                permits.acquireUninterruptibly();
+                try {
+                    records.add(fetchArtifact(info));
+                } catch (ManagementApiException e) {
+                    logger.error("Error while fetching updated artifact " + info.getName(), e);
+                    addToDelayedQueue(info.getType(), info.getName(),
+                                      () -> storeArtifact(info.getType(), fetchArtifact(info)));
+                } finally {
+                    permits.release();
                 }
-            } catch (ManagementApiException e) {
-                logger.error("Error while fetching updated artifacts", e);
             }
-        };
-        ExecutorServiceHolder.getMiArtifactsManagerExecutorService().execute(runnable);
+            storeArtifacts(artifacts.getKey(), records, false);
+        }
+        if (!changedArtifactTypes.isEmpty()) {
+            resyncArtifacts(changedArtifactTypes);
+        }
     }
 
     @Override
     public void runDeleteAllExecutorService() {
-        Runnable runnable = this::deleteAllArtifacts;
-        ExecutorServiceHolder.getMiArtifactsManagerExecutorService().execute(runnable);
+        NodeRemovals.schedule(heartbeat.getGroupId(), heartbeat.getNodeId(), this::deleteAllArtifacts,
+                              ExecutorServiceHolder.getMiArtifactsManagerExecutorService());
     }
 
-    private void processArtifacts(String accessToken, String artifactType, JsonObject artifacts)
-            throws ManagementApiException {
-        JsonArray list;
-        if (artifactType.equals(CARBON_APPLICATIONS)) {
-            list = artifacts.get("activeList").getAsJsonArray();
-        } else {
-            list = artifacts.get(LIST_ATTRIBUTE).getAsJsonArray();
-        }
-        for (JsonElement element : list) {
-            final String artifactName = element.getAsJsonObject().get("name").getAsString();
-            JsonObject artifactDetails = new JsonObject();
-            if (artifactType.equals(CARBON_APPLICATIONS)) {
-                populateCAppDetails(artifactDetails, artifactName,
-                        element.getAsJsonObject().get("version").getAsString());
-            } else if (artifactType.equals(MESSAGE_STORES)) {
-                artifactDetails.addProperty("name", artifactName);
-                artifactDetails.addProperty("type", element.getAsJsonObject().get("type").getAsString());
-                artifactDetails.addProperty("size", element.getAsJsonObject().get("size").getAsString());
+    /**
+     * Fetches the artifacts of the given types from the node and stores them. When replacing, the stored artifacts
+     * of a type are deleted right before the fetched ones are stored.
+     */
+    private void fetchArtifacts(Set<String> artifactTypes, String accessToken, boolean replaceStored)
+            throws InterruptedException {
+        String nodeId = heartbeat.getNodeId();
+        String groupId = heartbeat.getGroupId();
+        Semaphore permits = NodeRequestLimiter.getPermits(groupId, nodeId);
+        Map<String, CompletableFuture<ArtifactList>> artifactLists = new HashMap<>();
+        for (String artifactType : artifactTypes) {
+            artifactLists.put(artifactType, submitRequest(permits, () -> fetchArtifactList(artifactType, accessToken)));
+        }
+        List<CompletableFuture<Void>> artifactSyncs = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<ArtifactList>> artifactList : artifactLists.entrySet()) {
+            String artifactType = artifactList.getKey();
+            ArtifactList artifacts;
+            try {
+                artifacts = artifactList.getValue().join();
+            } catch (CompletionException e) {
+                logger.error("Unable to fetch {} from node: {} of group: {}", artifactType, nodeId, groupId,
+                             e.getCause());
+                addToDelayedQueue(artifactType, "", () -> resyncArtifactType(artifactType));
+                continue;
+            }
+            artifactSyncs.add(processArtifacts(permits, accessToken, artifactType, artifacts, replaceStored));
+        }
+        CompletableFuture.allOf(artifactSyncs.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+    }
+
+    private void resyncArtifacts(Set<String> artifactTypes) {
+        String nodeId = heartbeat.getNodeId();
+        String groupId = heartbeat.getGroupId();
+        logger.info("Artifacts of types " + artifactTypes + " in node " + nodeId + " in group " + groupId
+                    + " do not match the node. Fetching them again");
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
+        try {
+            fetchArtifacts(artifactTypes, accessToken, true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Fetching artifacts from node " + nodeId + " in group " + groupId + " was interrupted");
+        }
+    }
+
+    /**
+     * Returns the artifact types to fetch when a node registers. Types the node reports as empty are skipped.
+     */
+    private Set<String> getNonEmptyArtifactTypes() {
+        Map<String, String> artifactDigests = heartbeat.getArtifactDigests();
+        if (artifactDigests == null) {
+            return ALL_ARTIFACTS;
+        }
+        Set<String> artifactTypes = new HashSet<>();
+        for (String artifactType : ALL_ARTIFACTS) {
+            if (!ArtifactDigests.EMPTY_DIGEST.equals(artifactDigests.get(artifactType))) {
+                artifactTypes.add(artifactType);
+            }
+        }
+        return artifactTypes;
+    }
+
+    /**
+     * Compares the digests sent by the node against the stored artifacts, counting the deployed artifacts of the
+     * heartbeat as stored, and returns the types which do not match.
+     */
+    private Set<String> getChangedArtifactTypes(Map<String, List<UpdatedArtifact>> deployedArtifacts) {
+        Map<String, String> artifactDigests = heartbeat.getArtifactDigests();
+        if (artifactDigests == null) {
+            return Collections.emptySet();
+        }
+        Set<String> changedArtifactTypes = new HashSet<>();
+        for (Map.Entry<String, String> artifactDigest : artifactDigests.entrySet()) {
+            String artifactType = artifactDigest.getKey();
+            if (!ALL_ARTIFACTS.contains(artifactType)) {
+                continue;
+            }
+            String storedDigest;
+            List<UpdatedArtifact> deployed = deployedArtifacts.get(artifactType);
+            if (deployed == null) {
+                storedDigest = getStoredDigest(artifactType);
             } else {
-                artifactDetails = getArtifactDetails(artifactType, artifactName, accessToken);
+                Set<String> artifactNames = getStoredArtifactNames(artifactType);
+                for (UpdatedArtifact info : deployed) {
+                    artifactNames.add(artifactType.equals(TEMPLATES) ? getTemplateRecord(info).getName()
+                                                                    : info.getName());
+                }
+                storedDigest = ArtifactDigests.computeDigest(artifactNames);
+            }
+            if (!artifactDigest.getValue().equals(storedDigest)) {
+                changedArtifactTypes.add(artifactType);
+            }
+        }
+        return changedArtifactTypes;
+    }
+
+    private String getStoredDigest(String artifactType) {
+        String groupId = heartbeat.getGroupId();
+        String nodeId = heartbeat.getNodeId();
+        String digest = ArtifactDigests.getStoredDigest(groupId, nodeId, artifactType);
+        if (digest == null) {
+            digest = ArtifactDigests.computeDigest(getStoredArtifactNames(artifactType));
+            ArtifactDigests.putStoredDigest(groupId, nodeId, artifactType, digest);
+        }
+        return digest;
+    }
+
+    private Set<String> getStoredArtifactNames(String artifactType) {
+        Set<String> artifactNames = new HashSet<>();
+        for (ArtifactsInner artifact : databaseManager.fetchArtifacts(artifactType, heartbeat.getGroupId(),
+                                                                      Collections.singletonList(
+                                                                              heartbeat.getNodeId()))) {
+            artifactNames.add(artifact.getName());
+        }
+        return artifactNames;
+    }
+
+    private CompletableFuture<Void> processArtifacts(Semaphore permits, String accessToken, String artifactType,
+                                                     ArtifactList artifacts, boolean replaceStored)
+            throws InterruptedException {
+        List<ArtifactRecord> records = artifacts.records;
+        Map<String, CompletableFuture<ArtifactRecord>> detailRequests = new HashMap<>();
+        for (String artifactName : artifacts.detailedArtifactNames) {
+            CompletableFuture<ArtifactRecord> detailRequest =
+                    submitRequest(permits, () -> getArtifactDetails(artifactType, artifactName, accessToken))
+                            .thenApply(details -> new ArtifactRecord(artifactName, details.toString()))
+                            .whenComplete((result, e) -> {
+                                if (e != null) {
+                                    logger.error("Unable to fetch details of " + artifactName + " from node "
+                                                 + heartbeat.getNodeId(), e.getCause());
+                                }
+                            });
+            detailRequests.put(artifactName, detailRequest);
+        }
+        CompletableFuture<Void> allDetails = CompletableFuture.allOf(
+                detailRequests.values().toArray(new CompletableFuture[0]));
+        return allDetails.handle((result, e) -> {
+            List<String> failedArtifacts = new ArrayList<>();
+            for (Map.Entry<String, CompletableFuture<ArtifactRecord>> detailRequest : detailRequests.entrySet()) {
+                if (detailRequest.getValue().isCompletedExceptionally()) {
+                    failedArtifacts.add(detailRequest.getKey());
+                } else {
+                    records.add(detailRequest.getValue().join());
+                }
             }
-            insertArtifact(artifactType, artifactName, artifactDetails);
+            storeArtifacts(artifactType, records, replaceStored);
+            // Retries are scheduled once the fetched artifacts are stored, so that replacing the stored artifacts
+            // does not delete an artifact stored by a retry.
+            for (String artifactName : failedArtifacts) {
+                addToDelayedQueue(artifactType, artifactName, () -> refetchArtifact(artifactType, artifactName));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Dispatches a management API call to the artifact sync executor service once a permit of the node is available.
+     * The permit is acquired by the calling coordinator rather than the pool thread, so a node with many artifacts
+     * throttles its own sync without occupying the threads shared with the syncs of other nodes.
+     */
+    private <T> CompletableFuture<T> submitRequest(Semaphore permits, Callable<T> request)
+            throws InterruptedException {
+        permits.acquire();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            ExecutorServiceHolder.getArtifactSyncExecutorService().execute(() -> {
+                try {
+                    future.complete(request.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            future.completeExceptionally(e);
         }
+        return future;
     }
 
-    private void processTemplates(String artifactType, JsonObject artifacts) {
-        JsonArray sequences = artifacts.get("sequenceTemplateList").getAsJsonArray();
-        JsonArray endpoints = artifacts.get("endpointTemplateList").getAsJsonArray();
+    /**
+     * Fetches the list of artifacts of a type. The list is streamed and each element is reduced to the record
+     * to be stored, or to the name of the artifact if its details are fetched separately, as soon as it is read.
+     */
+    private ArtifactList fetchArtifactList(String artifactType, String accessToken) throws ManagementApiException {
+        String url = heartbeat.getMgtApiUrl().concat(artifactType);
+        return Utils.doGet(heartbeat.getGroupId(), heartbeat.getNodeId(), accessToken, url, response -> {
+            ArtifactList artifacts = new ArtifactList();
+            HttpUtils.forEachArrayElement(response, (listName, element) ->
+                    addToArtifactList(artifactType, listName, element.getAsJsonObject(), artifacts));
+            return artifacts;
+        });
+    }
+
+    private void addToArtifactList(String artifactType, String listName, JsonObject element,
+                                   ArtifactList artifacts) {
+        switch (artifactType) {
+            case TEMPLATES:
+                if ("sequenceTemplateList".equals(listName)) {
+                    artifacts.records.add(createTemplateRecord(element.get("name").getAsString(),
+                                                               "Sequence Template"));
+                } else if ("endpointTemplateList".equals(listName)) {
+                    artifacts.records.add(createTemplateRecord(element.get("name").getAsString(),
+                                                               "Endpoint Template"));
+                }
+                break;
+            case CARBON_APPLICATIONS:
+                if ("activeList".equals(listName)) {
+                    String artifactName = element.get("name").getAsString();
+                    JsonObject artifactDetails = new JsonObject();
+                    populateCAppDetails(artifactDetails, artifactName, element.get("version").getAsString());
+                    artifacts.records.add(new ArtifactRecord(artifactName, artifactDetails.toString()));
+                }
+                break;
+            case MESSAGE_STORES:
+                if (LIST_ATTRIBUTE.equals(listName)) {
+                    String artifactName = element.get("name").getAsString();
+                    JsonObject artifactDetails = new JsonObject();
+                    artifactDetails.addProperty("name", artifactName);
+                    artifactDetails.addProperty("type", element.get("type").getAsString());
+                    artifactDetails.addProperty("size", element.get("size").getAsString());
+                    artifacts.records.add(new ArtifactRecord(artifactName, artifactDetails.toString()));
+                }
+                break;
+            default:
+                if (LIST_ATTRIBUTE.equals(listName)) {
+                    artifacts.detailedArtifactNames.add(element.get("name").getAsString());
+                }
+                break;
+        }
+    }
 
-        processTemplates(artifactType, sequences, "Sequence Template");
-        processTemplates(artifactType, endpoints, "Endpoint Template");
+    private ArtifactRecord createTemplateRecord(String artifactName, String templateType) {
+        JsonObject artifactDetails = new JsonObject();
+        artifactDetails.addProperty("name", artifactName);
+        artifactDetails.addProperty("type", templateType);
+        return new ArtifactRecord(artifactName, artifactDetails.toString());
     }
 
-    private void processTemplates(String artifactType, JsonArray templates, String templateType) {
-        for (JsonElement template : templates) {
-            final String artifactName = template.getAsJsonObject().get("name").getAsString();
-            JsonObject artifactDetails = new JsonObject();
-            artifactDetails.addProperty("name", artifactName);
-            artifactDetails.addProperty("type", templateType);
-            insertArtifact(artifactType, artifactName, artifactDetails);
+    /**
+     * Stores the artifacts of a type with a single batched write. If the batch is rejected, for example because one
+     * of the artifacts is already stored, the artifacts are inserted one by one so that a single conflicting row does
+     * not drop the rest of the batch. When replacing, the stored artifacts of the type are deleted first.
+     */
+    private void storeArtifacts(String artifactType, List<ArtifactRecord> artifacts, boolean replaceStored) {
+        ArtifactDigests.invalidate(heartbeat.getGroupId(), heartbeat.getNodeId(), artifactType);
+        if (replaceStored) {
+            databaseManager.deleteAllArtifacts(artifactType, heartbeat.getGroupId(), heartbeat.getNodeId());
+        }
+        try {
+            databaseManager.insertArtifacts(heartbeat.getGroupId(), heartbeat.getNodeId(), artifactType, artifacts);
+        } catch (DashboardServerException e) {
+            logger.warn("Batch insert of " + artifactType + " failed for node " + heartbeat.getNodeId()
+                        + ". Inserting artifacts individually.", e);
+            for (ArtifactRecord artifact : artifacts) {
+                insertArtifact(artifactType, artifact);
+            }
         }
     }
 
-    private void insertArtifact(String artifactType, String artifactName, JsonObject artifactDetails) {
-        boolean isSuccess = databaseManager.insertArtifact(heartbeat.getGroupId(), heartbeat.getNodeId(),
-                                                           artifactType, artifactName,
-                                                           artifactDetails.toString());
+    private void insertArtifact(String artifactType, ArtifactRecord artifact) {
+        boolean isSuccess;
+        try {
+            isSuccess = databaseManager.insertArtifact(heartbeat.getGroupId(), heartbeat.getNodeId(), artifactType,
+                                                       artifact.getName(), artifact.getDetails());
+        } catch (DashboardServerException e) {
+            logger.debug("Error occurred while inserting " + artifact.getName(), e);
+            isSuccess = false;
+        }
         if (!isSuccess) {
-            logger.error("Error occurred while adding " + artifactName);
-            addToDelayedQueue();
+            logger.error("Error occurred while adding " + artifact.getName());
+            addToDelayedQueue(artifactType, artifact.getName(), () -> storeArtifact(artifactType, artifact));
+        }
+    }
+
+    /**
+     * Stores a single artifact on retry. If the artifact is already stored, for example because it was redeployed
+     * while the retry was pending, its details are updated instead.
+     */
+    private boolean storeArtifact(String artifactType, ArtifactRecord artifact) {
+        String groupId = heartbeat.getGroupId();
+        String nodeId = heartbeat.getNodeId();
+        ArtifactDigests.invalidate(groupId, nodeId, artifactType);
+        try {
+            if (databaseManager.insertArtifact(groupId, nodeId, artifactType, artifact.getName(),
+                                               artifact.getDetails())) {
+                return true;
+            }
+        } catch (DashboardServerException e) {
+            logger.debug("Error occurred while inserting " + artifact.getName(), e);
+        }
+        return databaseManager.updateDetails(artifactType, artifact.getName(), groupId, nodeId,
+                                             artifact.getDetails());
+    }
+
+    private boolean refetchArtifact(String artifactType, String artifactName) throws ManagementApiException {
+        String accessToken = AccessTokenStore.getAccessToken(heartbeat.getGroupId(), heartbeat.getNodeId());
+        JsonObject details = getArtifactDetails(artifactType, artifactName, accessToken);
+        return storeArtifact(artifactType, new ArtifactRecord(artifactName, details.toString()));
+    }
+
+    /**
+     * Fetches and stores all artifacts of a type again, after the list of the type could not be fetched.
+     */
+    private boolean resyncArtifactType(String artifactType) throws ManagementApiException {
+        String groupId = heartbeat.getGroupId();
+        String nodeId = heartbeat.getNodeId();
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
+        ArtifactList artifacts = fetchArtifactList(artifactType, accessToken);
+        try {
+            processArtifacts(NodeRequestLimiter.getPermits(groupId, nodeId), accessToken, artifactType, artifacts,
+                             true).join();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 
     private void fetchAndStoreServers(String accessToken) throws ManagementApiException {
+        storeServerInfo(fetchServerInfo(accessToken), heartbeat);
+    }
+
+    private String fetchServerInfo(String accessToken) throws ManagementApiException {
         String url = heartbeat.getMgtApiUrl() + SERVER;
-        CloseableHttpResponse response = Utils.doGet(heartbeat.getGroupId(), heartbeat.getNodeId(), accessToken, url);
-        String stringResponse = HttpUtils.getStringResponse(response);
-        storeServerInfo(stringResponse, heartbeat);
+        return Utils.doGet(heartbeat.getGroupId(), heartbeat.getNodeId(), accessToken, url,
+                           HttpUtils::getStringResponse);
     }
 
     private void storeServerInfo(String stringResponse, HeartbeatObject heartbeat) {
@@ -204,7 +525,7 @@ public class MiArtifactsManager implements ArtifactsManager {
         if (!isSuccess) {
             logger.error("Error occurred while adding server details of node: " + heartbeat.getNodeId() + " in group "
                       + heartbeat.getGroupId());
-            addToDelayedQueue();
+            addToDelayedQueue(SERVER, "", () -> databaseManager.insertServerInformation(heartbeat, stringResponse));
         }
     }
 
@@ -213,7 +534,7 @@ public class MiArtifactsManager implements ArtifactsManager {
             String groupId = updateArtifactObject.getGroupId();
             String nodeId = updateArtifactObject.getNodeId();
             String mgtApiUrl = updateArtifactObject.getMgtApiUrl();
-            String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+            String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
             String artifactType = updateArtifactObject.getType();
             String artifactName = updateArtifactObject.getName();
             JsonObject details = getArtifactDetails(groupId, nodeId, mgtApiUrl, artifactType, artifactName,
@@ -224,24 +545,20 @@ public class MiArtifactsManager implements ArtifactsManager {
         }
     }
 
-    private void fetchAndStoreArtifact(UpdatedArtifact info) throws ManagementApiException {
+    private ArtifactRecord fetchArtifact(UpdatedArtifact info) throws ManagementApiException {
         String artifactType = info.getType();
         if (artifactType.equals(TEMPLATES)) {
-            updateTemplates(info);
+            return getTemplateRecord(info);
+        }
+        JsonObject artifactDetails = new JsonObject();
+        String artifactName = info.getName();
+        if (artifactType.equals(CARBON_APPLICATIONS)) {
+            populateCAppDetails(artifactDetails, artifactName, info.getVersion());
         } else {
-            JsonObject artifactDetails = new JsonObject();
-            String artifactName = info.getName();
-            String groupId = heartbeat.getGroupId();
-            String nodeId = heartbeat.getNodeId();
-            if (artifactType.equals(CARBON_APPLICATIONS)) {
-                populateCAppDetails(artifactDetails, artifactName, info.getVersion());
-            } else {
-                String accessToken = databaseManager.getAccessToken(groupId, nodeId);
-                artifactDetails = getArtifactDetails(artifactType, artifactName, accessToken);
-            }
-            databaseManager.insertArtifact(groupId, nodeId, artifactType, artifactName,
-                                           artifactDetails.toString());
+            String accessToken = AccessTokenStore.getAccessToken(heartbeat.getGroupId(), heartbeat.getNodeId());
+            artifactDetails = getArtifactDetails(artifactType, artifactName, accessToken);
         }
+        return new ArtifactRecord(artifactName, artifactDetails.toString());
     }
 
     private void populateCAppDetails(JsonObject artifactDetails, String artifactName, String artifactVersion) {
@@ -250,7 +567,7 @@ public class MiArtifactsManager implements ArtifactsManager {
         artifactDetails.addProperty("version", artifactVersion);
     }
 
-    private void updateTemplates(UpdatedArtifact info) {
+    private ArtifactRecord getTemplateRecord(UpdatedArtifact info) {
         String artifactName = info.getName();
         String[] splitArray = artifactName.split("_", 2);
         String templateType = splitArray[0];
@@ -260,11 +577,7 @@ public class MiArtifactsManager implements ArtifactsManager {
         } else if (templateType.equals("sequence")) {
             templateType = "Sequence Template";
         }
-        JsonObject artifactDetails = new JsonObject();
-        artifactDetails.addProperty("name", artifactName);
-        artifactDetails.addProperty("type", templateType);
-        databaseManager.insertArtifact(heartbeat.getGroupId(), heartbeat.getNodeId(), TEMPLATES, artifactName,
-                                       artifactDetails.toString());
+        return createTemplateRecord(artifactName, templateType);
     }
 
     private JsonObject getArtifactDetails(String artifactType, String artifactName, String accessToken)
@@ -276,9 +589,8 @@ public class MiArtifactsManager implements ArtifactsManager {
     private JsonObject getArtifactDetails(String groupId, String nodeId, String mgtApiUrl, String artifactType,
                                           String artifactName, String accessToken) throws ManagementApiException {
         String getArtifactDetailsUrl = getArtifactDetailsUrl(mgtApiUrl, artifactType, artifactName);
-        CloseableHttpResponse artifactDetails = Utils.doGet(groupId, nodeId, accessToken,
-                                                            getArtifactDetailsUrl);
-        JsonObject jsonResponse = HttpUtils.getJsonResponse(artifactDetails);
+        JsonObject jsonResponse = Utils.doGet(groupId, nodeId, accessToken, getArtifactDetailsUrl,
+                                              HttpUtils::getJsonResponse);
         return removeValueAndConfiguration(artifactType, jsonResponse);
     }
 
@@ -347,23 +659,45 @@ public class MiArtifactsManager implements ArtifactsManager {
         return artifact;
     }
 
-    private void deleteArtifact(String artifactType, String name) {
+    private void deleteArtifacts(String artifactType, List<String> names) {
         String nodeId = heartbeat.getNodeId();
         String groupId = heartbeat.getGroupId();
-        logger.info("Deleting artifact " + name + " in node " + heartbeat.getNodeId() + " in group " + groupId);
-        databaseManager.deleteArtifact(artifactType, name, groupId, nodeId);
+        logger.info("Deleting " + artifactType + " " + names + " in node " + nodeId + " in group " + groupId);
+        ArtifactDigests.invalidate(groupId, nodeId, artifactType);
+        for (String name : names) {
+            ArtifactRetryQueue.cancel(groupId, nodeId, artifactType, name);
+        }
+        databaseManager.deleteArtifacts(artifactType, names, groupId, nodeId);
     }
 
     private void deleteAllArtifacts() {
         String groupId = heartbeat.getGroupId();
         String nodeId = heartbeat.getNodeId();
+        // Pending syncs are cancelled first, so that they do not store artifacts of the node once it is deleted.
+        ArtifactRetryQueue.removeNode(groupId, nodeId);
+        NodeUpdateCoalescer.removeNode(groupId, nodeId);
         databaseManager.deleteServerInformation(groupId, nodeId);
         for (String artifact : ALL_ARTIFACTS) {
             databaseManager.deleteAllArtifacts(artifact, groupId, nodeId);
         }
+        NodeRequestLimiter.removePermits(groupId, nodeId);
+        ArtifactDigests.removeDigests(groupId, nodeId);
+        AccessTokenStore.removeNode(groupId, nodeId);
+        NodeCircuitBreaker.removeNode(groupId, nodeId);
+        CarbonAppsDelegate.removeNode(groupId, nodeId);
+    }
+
+    private void addToDelayedQueue(String artifactType, String artifactName, ArtifactRetryQueue.RetryAction action) {
+        logger.info("Retrying sync of " + artifactType + " " + artifactName + " in node " + heartbeat.getNodeId()
+                    + " in group " + heartbeat.getGroupId() + " later");
+        ArtifactRetryQueue.schedule(heartbeat.getGroupId(), heartbeat.getNodeId(), artifactType, artifactName, action);
     }
 
-    private void addToDelayedQueue() {
-        // todo
+    /**
+     * Artifacts of a type listed by a node.
+     */
+    private static final class ArtifactList {
+        private final List<ArtifactRecord> records = new ArrayList<>();
+        private final List<String> detailedArtifactNames = new ArrayList<>();
     }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.micro.integrator.commons;
+
+import com.nimbusds.jwt.JWTParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.ei.dashboard.core.commons.Constants;
+import org.wso2.ei.dashboard.core.commons.utils.ManagementApiUtils;
+import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
+import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
+import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+import org.wso2.ei.dashboard.core.rest.delegates.nodes.NodesDelegate;
+import org.wso2.micro.integrator.dashboard.utils.ExecutorServiceHolder;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Keeps the management API access tokens of the micro integrator nodes in memory. A token is refreshed by a single
+ * login to the node however many requests find it rejected at once, and it is refreshed in the background shortly
+ * before it expires so that requests do not have to be retried with a new token. Background and asynchronous
+ * refreshes run on a dedicated pool, since requests running on the shared pools may block on them.
+ */
+public final class AccessTokenStore {
+
+    private static final Logger logger = LogManager.getLogger(AccessTokenStore.class);
+    private static final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
+    private static final Map<String, NodeToken> nodeTokens = new ConcurrentHashMap<>();
+
+    private AccessTokenStore() {
+
+    }
+
+    /**
+     * Returns the access token of the given node. A token which is about to expire is refreshed in the background
+     * and a token which has already expired is refreshed before returning.
+     *
+     * @param groupId group id of the node
+     * @param nodeId  node id
+     * @return access token of the node
+     */
+    public static String getAccessToken(String groupId, String nodeId) {
+        NodeToken nodeToken = getNodeToken(groupId, nodeId);
+        AccessToken accessToken = nodeToken.accessToken;
+        long now = System.currentTimeMillis();
+        if (now >= accessToken.expiry) {
+            try {
+                return nodeToken.refresh(accessToken.token, Runnable::run).join();
+            } catch (CompletionException e) {
+                // The request goes out with the expired token and the error surfaces once the node rejects it.
+                return accessToken.token;
+            }
+        } else if (now >= accessToken.expiry - Constants.MGT_API_TOKEN_REFRESH_BEFORE_EXPIRY) {
+            nodeToken.refresh(accessToken.token, ExecutorServiceHolder.getTokenRefreshExecutorService());
+        }
+        return accessToken.token;
+    }
+
+    /**
+     * Replaces an access token rejected by the node. If the token has already been replaced by a concurrent request,
+     * the current token is returned without logging in to the node again.
+     *
+     * @param groupId       group id of the node
+     * @param nodeId        node id
+     * @param rejectedToken access token rejected by the node
+     * @return new access token of the node
+     * @throws ManagementApiException if a new access token could not be retrieved from the node
+     */
+    public static String refreshAccessToken(String groupId, String nodeId, String rejectedToken)
+            throws ManagementApiException {
+        try {
+            return getNodeToken(groupId, nodeId).refresh(rejectedToken, Runnable::run).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ManagementApiException) {
+                throw (ManagementApiException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces an access token rejected by the node without blocking the calling thread. The login to the node, if
+     * needed, runs on the token refresh pool.
+     *
+     * @param groupId       group id of the node
+     * @param nodeId        node id
+     * @param rejectedToken access token rejected by the node
+     * @return future completed with the new access token of the node
+     */
+    public static CompletableFuture<String> refreshAccessTokenAsync(String groupId, String nodeId,
+                                                                    String rejectedToken) {
+        return getNodeToken(groupId, nodeId).refresh(rejectedToken,
+                                                     ExecutorServiceHolder.getTokenRefreshExecutorService());
+    }
+
+    /**
+     * Stores the access token retrieved when a node registers.
+     */
+    public static void putAccessToken(String groupId, String nodeId, String accessToken) {
+        nodeTokens.put(getKey(groupId, nodeId), new NodeToken(groupId, nodeId, new AccessToken(accessToken)));
+    }
+
+    public static void removeNode(String groupId, String nodeId) {
+        nodeTokens.remove(getKey(groupId, nodeId));
+    }
+
+    private static NodeToken getNodeToken(String groupId, String nodeId) {
+        String key = getKey(groupId, nodeId);
+        NodeToken nodeToken = nodeTokens.get(key);
+        if (nodeToken != null) {
+            return nodeToken;
+        }
+        if (!NodesDelegate.isRegistered(groupId, nodeId)) {
+            // Requests still in flight for a removed node must not add it back, hence its token is not cached.
+            return new NodeToken(groupId, nodeId, new AccessToken(databaseManager.getAccessToken(groupId, nodeId)));
+        }
+        // Nodes registered before the dashboard restarted only have their token in the database.
+        nodeToken = nodeTokens.computeIfAbsent(key, nodeKey -> new NodeToken(
+                groupId, nodeId, new AccessToken(databaseManager.getAccessToken(groupId, nodeId))));
+        if (!NodesDelegate.isRegistered(groupId, nodeId)) {
+            // The node was removed while its token was being cached.
+            nodeTokens.remove(key, nodeToken);
+        }
+        return nodeToken;
+    }
+
+    private static String getKey(String groupId, String nodeId) {
+        return groupId + "/" + nodeId;
+    }
+
+    /**
+     * Access token of a node and the time it expires at.
+     */
+    private static final class AccessToken {
+
+        private final String token;
+        private final long expiry;
+
+        private AccessToken(String token) {
+            this.token = token;
+            this.expiry = getExpiry(token);
+        }
+
+        /**
+         * Reads the expiry of a JWT access token. Tokens which are not JWTs or do not expire are only refreshed when
+         * the node rejects them.
+         */
+        private static long getExpiry(String token) {
+            if (token == null || token.isEmpty()) {
+                return Long.MAX_VALUE;
+            }
+            try {
+                Date expirationTime = JWTParser.parse(token).getJWTClaimsSet().getExpirationTime();
+                return expirationTime != null ? expirationTime.getTime() : Long.MAX_VALUE;
+            } catch (ParseException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+    }
+
+    /**
+     * Access token of a node along with the refresh in progress, if any.
+     */
+    private static final class NodeToken {
+
+        private final String groupId;
+        private final String nodeId;
+        private volatile AccessToken accessToken;
+        private CompletableFuture<String> refresh;
+
+        private NodeToken(String groupId, String nodeId, AccessToken accessToken) {
+            this.groupId = groupId;
+            this.nodeId = nodeId;
+            this.accessToken = accessToken;
+        }
+
+        /**
+         * Refreshes the token unless it has already been replaced, joining the refresh in progress if there is one.
+         */
+        private CompletableFuture<String> refresh(String staleToken, Executor executor) {
+            CompletableFuture<String> result;
+            synchronized (this) {
+                String currentToken = accessToken.token;
+                if (currentToken != null && !currentToken.equals(staleToken)) {
+                    return CompletableFuture.completedFuture(currentToken);
+                }
+                if (refresh != null) {
+                    return refresh;
+                }
+                refresh = new CompletableFuture<>();
+                result = refresh;
+            }
+            try {
+                executor.execute(() -> login(result));
+            } catch (RejectedExecutionException e) {
+                login(result);
+            }
+            return result;
+        }
+
+        private void login(CompletableFuture<String> result) {
+            try {
+                logger.debug("Retrieving new access-token from node " + nodeId + " in group " + groupId);
+                String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
+                String token = ManagementApiUtils.getAccessToken(mgtApiUrl);
+                if (nodeTokens.get(getKey(groupId, nodeId)) == this) {
+                    // A refresh finishing after the node was removed or registered again must not overwrite the
+                    // token stored for the node.
+                    databaseManager.updateAccessToken(groupId, nodeId, token);
+                }
+                synchronized (this) {
+                    accessToken = new AccessToken(token);
+                    refresh = null;
+                }
+                result.complete(token);
+            } catch (Exception e) {
+                logger.error("Error occurred while retrieving new access-token from node " + nodeId + " in group "
+                             + groupId, e);
+                synchronized (this) {
+                    refresh = null;
+                }
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
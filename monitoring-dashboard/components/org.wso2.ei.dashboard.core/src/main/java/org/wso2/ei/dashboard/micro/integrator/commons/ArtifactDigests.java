@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.micro.integrator.commons;
+
+import org.wso2.ei.dashboard.core.exception.DashboardServerException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes and remembers the digests of the artifact sets stored for micro integrator nodes. The digest of an
+ * artifact type is the hex encoded SHA-256 hash of the distinct artifact names of the type, sorted and joined with
+ * new lines, which is the same digest a node sends in the change notification of its heartbeats.
+ */
+public final class ArtifactDigests {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final Map<String, Map<String, String>> storedDigests = new ConcurrentHashMap<>();
+    private static final Set<String> syncedNodes = ConcurrentHashMap.newKeySet();
+
+    public static final String EMPTY_DIGEST = computeDigest(new TreeSet<>());
+
+    private ArtifactDigests() {
+
+    }
+
+    /**
+     * Computes the digest of a set of artifact names.
+     *
+     * @param artifactNames artifact names of a type, in any order and possibly with duplicates
+     * @return digest of the artifact names
+     */
+    public static String computeDigest(Collection<String> artifactNames) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new DashboardServerException(DIGEST_ALGORITHM + " is not supported", e);
+        }
+        boolean isFirst = true;
+        for (String artifactName : new TreeSet<>(artifactNames)) {
+            if (!isFirst) {
+                messageDigest.update((byte) '\n');
+            }
+            messageDigest.update(artifactName.getBytes(StandardCharsets.UTF_8));
+            isFirst = false;
+        }
+        byte[] hash = messageDigest.digest();
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Returns the remembered digest of the artifacts of a type stored for a node.
+     *
+     * @return digest, or null if it is not known since the artifacts of the type were last changed
+     */
+    public static String getStoredDigest(String groupId, String nodeId, String artifactType) {
+        Map<String, String> nodeDigests = storedDigests.get(getKey(groupId, nodeId));
+        return nodeDigests == null ? null : nodeDigests.get(artifactType);
+    }
+
+    public static void putStoredDigest(String groupId, String nodeId, String artifactType, String digest) {
+        storedDigests.computeIfAbsent(getKey(groupId, nodeId), key -> new ConcurrentHashMap<>())
+                     .put(artifactType, digest);
+    }
+
+    /**
+     * Forgets the digest of a type of a node. Should be called whenever the stored artifacts of the type change.
+     */
+    public static void invalidate(String groupId, String nodeId, String artifactType) {
+        Map<String, String> nodeDigests = storedDigests.get(getKey(groupId, nodeId));
+        if (nodeDigests != null) {
+            nodeDigests.remove(artifactType);
+        }
+    }
+
+    /**
+     * Records that the initial sync of a node has finished. Until then the stored artifacts of the node are still
+     * being written, so they cannot be compared against the digests sent by the node.
+     */
+    public static void markInitialSyncComplete(String groupId, String nodeId) {
+        syncedNodes.add(getKey(groupId, nodeId));
+    }
+
+    public static boolean isInitialSyncComplete(String groupId, String nodeId) {
+        return syncedNodes.contains(getKey(groupId, nodeId));
+    }
+
+    public static void removeDigests(String groupId, String nodeId) {
+        storedDigests.remove(getKey(groupId, nodeId));
+        syncedNodes.remove(getKey(groupId, nodeId));
+    }
+
+    private static String getKey(String groupId, String nodeId) {
+        return groupId + "/" + nodeId;
+    }
+}
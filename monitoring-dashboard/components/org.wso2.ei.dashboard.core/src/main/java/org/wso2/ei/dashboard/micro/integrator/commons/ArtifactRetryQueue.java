@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.micro.integrator.commons;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.ei.dashboard.core.commons.Constants;
+import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+import org.wso2.ei.dashboard.core.rest.delegates.nodes.NodesDelegate;
+import org.wso2.micro.integrator.dashboard.utils.ExecutorServiceHolder;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Retries artifact syncs which failed because the node or the database was temporarily unavailable. Retries are kept
+ * in a queue ordered by the time of their next attempt and are run one at a time by a dedicated worker, backing off
+ * exponentially with jitter between attempts. There is at most one pending retry per artifact of a node; scheduling
+ * an artifact which is already pending replaces the action of the pending retry. Retries of nodes which are no longer
+ * registered are dropped. The depth of the queue and the outcome of the retries are published over JMX.
+ */
+public final class ArtifactRetryQueue {
+
+    private static final Logger logger = LogManager.getLogger(ArtifactRetryQueue.class);
+    private static final String MBEAN_NAME = "org.wso2.ei.dashboard:type=ArtifactRetryQueue";
+    private static final DelayQueue<RetryTask> retryTasks = new DelayQueue<>();
+    private static final Map<String, RetryTask> pendingRetries = new ConcurrentHashMap<>();
+    private static final AtomicBoolean workerStarted = new AtomicBoolean();
+    private static final AtomicLong scheduledCount = new AtomicLong();
+    private static final AtomicLong succeededCount = new AtomicLong();
+    private static final AtomicLong droppedCount = new AtomicLong();
+
+    private ArtifactRetryQueue() {
+
+    }
+
+    /**
+     * Schedules a retry of the given artifact of a node. The retry is dropped if the queue is full.
+     *
+     * @param groupId      group id of the node
+     * @param nodeId       node id
+     * @param artifactType type of the artifact
+     * @param artifactName name of the artifact, or an empty string if the whole type is retried
+     * @param action       action retrying the sync of the artifact
+     */
+    public static void schedule(String groupId, String nodeId, String artifactType, String artifactName,
+                                RetryAction action) {
+        String key = getKey(groupId, nodeId, artifactType, artifactName);
+        while (true) {
+            RetryTask pendingRetry = pendingRetries.get(key);
+            if (pendingRetry == null) {
+                if (pendingRetries.size() >= Constants.ARTIFACT_RETRY_QUEUE_SIZE) {
+                    droppedCount.incrementAndGet();
+                    logger.warn("Artifact retry queue is full with " + pendingRetries.size() + " retries. Dropping "
+                                + "the retry of " + key);
+                    return;
+                }
+                if (enqueue(new RetryTask(groupId, nodeId, key, action, 1))) {
+                    scheduledCount.incrementAndGet();
+                    startWorker();
+                    return;
+                }
+            } else {
+                pendingRetry.action = action;
+                // If the worker took the retry before its action was replaced, a new retry is scheduled.
+                if (pendingRetries.get(key) == pendingRetry) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels the pending retry of the given artifact, for example because it was undeployed from the node.
+     */
+    public static void cancel(String groupId, String nodeId, String artifactType, String artifactName) {
+        RetryTask pendingRetry = pendingRetries.remove(getKey(groupId, nodeId, artifactType, artifactName));
+        if (pendingRetry != null) {
+            retryTasks.remove(pendingRetry);
+        }
+    }
+
+    /**
+     * Cancels all pending retries of a node, once the node is removed from the dashboard.
+     */
+    public static void removeNode(String groupId, String nodeId) {
+        String keyPrefix = groupId + "/" + nodeId + "/";
+        pendingRetries.keySet().removeIf(key -> key.startsWith(keyPrefix));
+        retryTasks.removeIf(retryTask -> retryTask.key.startsWith(keyPrefix));
+    }
+
+    public static int getQueueDepth() {
+        return pendingRetries.size();
+    }
+
+    public static long getScheduledCount() {
+        return scheduledCount.get();
+    }
+
+    public static long getSucceededCount() {
+        return succeededCount.get();
+    }
+
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private static boolean enqueue(RetryTask retryTask) {
+        if (pendingRetries.putIfAbsent(retryTask.key, retryTask) != null) {
+            return false;
+        }
+        retryTasks.add(retryTask);
+        return true;
+    }
+
+    private static void startWorker() {
+        if (workerStarted.compareAndSet(false, true)) {
+            registerMBean();
+            ExecutorServiceHolder.getArtifactRetryExecutorService().execute(ArtifactRetryQueue::drain);
+        }
+    }
+
+    private static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Metrics(), new ObjectName(MBEAN_NAME));
+        } catch (JMException e) {
+            logger.warn("Unable to publish the metrics of the artifact retry queue over JMX", e);
+        }
+    }
+
+    private static void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                RetryTask retryTask = retryTasks.take();
+                // A retry which is no longer pending was cancelled.
+                if (pendingRetries.remove(retryTask.key, retryTask)) {
+                    retry(retryTask);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void retry(RetryTask retryTask) {
+        if (!NodesDelegate.isRegistered(retryTask.groupId, retryTask.nodeId)) {
+            logger.debug("Dropping the retry of " + retryTask.key + " since the node is no longer registered");
+            return;
+        }
+        boolean isSuccess;
+        try {
+            isSuccess = retryTask.action.retry();
+        } catch (ManagementApiException | RuntimeException e) {
+            logger.debug("Attempt " + retryTask.attempt + " to sync " + retryTask.key + " failed.", e);
+            isSuccess = false;
+        }
+        if (isSuccess) {
+            succeededCount.incrementAndGet();
+            logger.info("Synced " + retryTask.key + " after " + retryTask.attempt + " retries");
+        } else if (retryTask.attempt >= Constants.ARTIFACT_RETRY_MAX_ATTEMPTS) {
+            droppedCount.incrementAndGet();
+            logger.error("Giving up syncing " + retryTask.key + " after " + retryTask.attempt + " retries");
+        } else if (NodesDelegate.isRegistered(retryTask.groupId, retryTask.nodeId)) {
+            // If the artifact was scheduled again in the meantime, the newer retry is kept. If the node was removed
+            // during the attempt, the retry is not queued again.
+            enqueue(new RetryTask(retryTask.groupId, retryTask.nodeId, retryTask.key, retryTask.action,
+                                  retryTask.attempt + 1));
+        }
+    }
+
+    /**
+     * Returns the delay before the given attempt, doubling with each attempt up to the maximum delay. Half of the
+     * delay is randomized so that the retries of nodes which failed together are spread out.
+     */
+    private static long getBackoffDelay(int attempt) {
+        long delay = Constants.ARTIFACT_RETRY_MAX_DELAY;
+        if (attempt <= Long.numberOfLeadingZeros(Constants.ARTIFACT_RETRY_INITIAL_DELAY)) {
+            delay = Math.min(delay, (long) Constants.ARTIFACT_RETRY_INITIAL_DELAY << (attempt - 1));
+        }
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static String getKey(String groupId, String nodeId, String artifactType, String artifactName) {
+        return groupId + "/" + nodeId + "/" + artifactType + "/" + artifactName;
+    }
+
+    /**
+     * Action retrying the sync of an artifact.
+     */
+    @FunctionalInterface
+    public interface RetryAction {
+
+        /**
+         * Syncs the artifact again.
+         *
+         * @return true if the artifact was synced, false if it should be retried later
+         * @throws ManagementApiException if the artifact could not be fetched from the node
+         */
+        boolean retry() throws ManagementApiException;
+    }
+
+    /**
+     * Metrics of the retry queue published over JMX.
+     */
+    private static final class Metrics implements ArtifactRetryQueueMXBean {
+
+        @Override
+        public int getQueueDepth() {
+            return ArtifactRetryQueue.getQueueDepth();
+        }
+
+        @Override
+        public long getScheduledCount() {
+            return ArtifactRetryQueue.getScheduledCount();
+        }
+
+        @Override
+        public long getSucceededCount() {
+            return ArtifactRetryQueue.getSucceededCount();
+        }
+
+        @Override
+        public long getDroppedCount() {
+            return ArtifactRetryQueue.getDroppedCount();
+        }
+    }
+
+    private static final class RetryTask implements Delayed {
+
+        private final String groupId;
+        private final String nodeId;
+        private final String key;
+        private final int attempt;
+        private final long nextAttemptTime;
+        private volatile RetryAction action;
+
+        private RetryTask(String groupId, String nodeId, String key, RetryAction action, int attempt) {
+            this.groupId = groupId;
+            this.nodeId = nodeId;
+            this.key = key;
+            this.action = action;
+            this.attempt = attempt;
+            this.nextAttemptTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(getBackoffDelay(attempt));
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(nextAttemptTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof RetryTask) {
+                return Long.compare(nextAttemptTime - ((RetryTask) other).nextAttemptTime, 0);
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -1,12 +1,9 @@
 package org.wso2.ei.dashboard.micro.integrator.commons;
 
 import com.google.gson.JsonObject;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.ei.dashboard.core.commons.utils.ManagementApiUtils;
-import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
-import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
 import org.wso2.ei.dashboard.core.exception.ManagementApiException;
 import org.wso2.ei.dashboard.core.rest.delegates.UpdateArtifactObject;
 import org.wso2.ei.dashboard.core.rest.model.ArtifactUpdateRequest;
@@ -16,8 +13,6 @@ import org.wso2.ei.dashboard.micro.integrator.MiArtifactsManager;
  * Util class to update artifacts deployed in micro integrator and update the database of the dashboard server.
  */
 public class DelegatesUtil {
-    private static final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
-
     private static final Logger logger = LogManager.getLogger(DelegatesUtil.class);
 
     private DelegatesUtil() {
@@ -30,10 +25,11 @@ public class DelegatesUtil {
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
 
         if (null != mgtApiUrl && !mgtApiUrl.isEmpty()) {
-            String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+            String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
             String url = mgtApiUrl.concat(artifactType);
-            CloseableHttpResponse response = Utils.doPost(groupId, nodeId, accessToken, url, payload);
-            if (response.getStatusLine().getStatusCode() == 200) {
+            int statusCode = Utils.doPost(groupId, nodeId, accessToken, url, payload,
+                                          response -> response.getStatusLine().getStatusCode());
+            if (statusCode == 200) {
                 return updateDatabase(artifactType, mgtApiUrl, groupId, request);
             }
         }
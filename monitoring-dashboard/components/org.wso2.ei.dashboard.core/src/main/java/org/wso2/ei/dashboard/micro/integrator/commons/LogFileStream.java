@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.micro.integrator.commons;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
+import org.wso2.ei.dashboard.core.exception.DashboardServerException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Streams a log file from the management API response of a node to the dashboard client through a fixed size
+ * buffer, so the memory used by a download does not depend on the size of the file. A single byte range of the file
+ * can be requested for tailing and paging. The range is forwarded to the node, so that only the requested bytes are
+ * transferred; if the node serves the whole file instead, the bytes before the range are skipped on the upstream
+ * stream. The content is gzip compressed on the fly when requested and no range is served.
+ */
+public final class LogFileStream implements StreamingOutput {
+
+    public static final int SC_OK = 200;
+    public static final int SC_PARTIAL_CONTENT = 206;
+    public static final int SC_RANGE_NOT_SATISFIABLE = 416;
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final Pattern BYTE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+    private static final Pattern CONTENT_RANGE = Pattern.compile("^bytes (?:(\\d+)-(\\d+)|\\*)/(\\d+|\\*)$");
+    private static final String CONTENT_RANGE_HEADER = "Content-Range";
+
+    private final CloseableHttpResponse upstreamResponse;
+    private final long fileLength;
+    private final long offset;
+    private final long bytesToSkip;
+    private final long length;
+    private final int status;
+    private final boolean compressed;
+    private final boolean rangeServedByNode;
+
+    private LogFileStream(CloseableHttpResponse upstreamResponse, long fileLength, long offset, long bytesToSkip,
+                          long length, int status, boolean compressed, boolean rangeServedByNode) {
+        this.upstreamResponse = upstreamResponse;
+        this.fileLength = fileLength;
+        this.offset = offset;
+        this.bytesToSkip = bytesToSkip;
+        this.length = length;
+        this.status = status;
+        this.compressed = compressed;
+        this.rangeServedByNode = rangeServedByNode;
+    }
+
+    /**
+     * Creates the stream of a log file served by a node.
+     *
+     * @param upstreamResponse management API response holding the log file, released once the stream is written
+     * @param range            value of the Range header of the client request, which was forwarded to the node, or
+     *                         null to fetch the whole file
+     * @param gzip             whether the client accepts gzip encoded content
+     * @return log file stream
+     */
+    public static LogFileStream create(CloseableHttpResponse upstreamResponse, String range, boolean gzip) {
+        int upstreamStatus = upstreamResponse.getStatusLine().getStatusCode();
+        if (range != null && (upstreamStatus == SC_PARTIAL_CONTENT || upstreamStatus == SC_RANGE_NOT_SATISFIABLE)) {
+            return createFromUpstreamRange(upstreamResponse, upstreamStatus);
+        }
+        // The node serves the whole file, either because no range was requested or because it does not support
+        // ranges.
+        HttpEntity entity = upstreamResponse.getEntity();
+        long fileLength = entity != null ? entity.getContentLength() : 0;
+        Matcher matcher = range != null ? BYTE_RANGE.matcher(range.trim()) : null;
+        // Ranges are resolved against the file length, hence they are ignored when the node streams the file in
+        // chunks without announcing its length. Multiple ranges are ignored as well, as allowed by RFC 7233.
+        if (matcher == null || !matcher.matches() || fileLength < 0
+            || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return new LogFileStream(upstreamResponse, fileLength, 0, 0, fileLength, SC_OK, gzip, false);
+        }
+
+        long first;
+        long last;
+        if (matcher.group(1).isEmpty()) {
+            // Suffix range, i.e. the last n bytes of the file.
+            first = Math.max(0, fileLength - parseLong(matcher.group(2)));
+            last = fileLength - 1;
+        } else {
+            first = parseLong(matcher.group(1));
+            last = matcher.group(2).isEmpty() ? fileLength - 1 : Math.min(parseLong(matcher.group(2)), fileLength - 1);
+        }
+        if (first >= fileLength || first > last) {
+            HttpUtils.releaseResponse(upstreamResponse);
+            return new LogFileStream(null, fileLength, 0, 0, 0, SC_RANGE_NOT_SATISFIABLE, false, false);
+        }
+        return new LogFileStream(upstreamResponse, fileLength, first, first, last - first + 1, SC_PARTIAL_CONTENT,
+                                 false, false);
+    }
+
+    /**
+     * Creates the stream of a range served by the node itself, as described by the Content-Range header of its
+     * response.
+     */
+    private static LogFileStream createFromUpstreamRange(CloseableHttpResponse upstreamResponse, int upstreamStatus) {
+        Header contentRange = upstreamResponse.getFirstHeader(CONTENT_RANGE_HEADER);
+        Matcher matcher = contentRange != null ? CONTENT_RANGE.matcher(contentRange.getValue().trim()) : null;
+        if (matcher == null || !matcher.matches()
+            || (upstreamStatus == SC_PARTIAL_CONTENT && matcher.group(1) == null)) {
+            HttpUtils.releaseResponse(upstreamResponse);
+            throw new DashboardServerException("Node responded to a range request with an invalid Content-Range "
+                                               + (contentRange != null ? contentRange.getValue() : null));
+        }
+        long fileLength = "*".equals(matcher.group(3)) ? -1 : parseLong(matcher.group(3));
+        if (upstreamStatus == SC_RANGE_NOT_SATISFIABLE) {
+            HttpUtils.releaseResponse(upstreamResponse);
+            return new LogFileStream(null, fileLength, 0, 0, 0, SC_RANGE_NOT_SATISFIABLE, false, true);
+        }
+        long first = parseLong(matcher.group(1));
+        long last = parseLong(matcher.group(2));
+        return new LogFileStream(upstreamResponse, fileLength, first, 0, last - first + 1, SC_PARTIAL_CONTENT,
+                                 false, true);
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // The value does not fit into a long, which is beyond the end of any file.
+            return Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        if (upstreamResponse == null) {
+            return;
+        }
+        try {
+            HttpEntity entity = upstreamResponse.getEntity();
+            if (entity == null) {
+                return;
+            }
+            InputStream input = entity.getContent();
+            skipFully(input, bytesToSkip);
+            if (compressed) {
+                GZIPOutputStream gzipOutput = new GZIPOutputStream(output, BUFFER_SIZE);
+                copy(input, gzipOutput, length);
+                gzipOutput.finish();
+            } else {
+                copy(input, output, length);
+            }
+            output.flush();
+        } finally {
+            HttpUtils.releaseResponse(upstreamResponse);
+        }
+    }
+
+    private static void skipFully(InputStream input, long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            long skipped = input.skip(remaining);
+            if (skipped <= 0) {
+                if (input.read() < 0) {
+                    throw new IOException("Log file ended before the requested range");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static void copy(InputStream input, OutputStream output, long count) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        // A negative count copies the stream until its end.
+        long remaining = count < 0 ? Long.MAX_VALUE : count;
+        while (remaining > 0) {
+            int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                break;
+            }
+            output.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    /**
+     * Releases the management API response of the node without writing the stream.
+     */
+    public void discard() {
+        HttpUtils.releaseResponse(upstreamResponse);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Returns whether the range was served by the node itself. Otherwise the node sent the whole file, and the bytes
+     * before the range are skipped while the stream is written.
+     *
+     * @return true if the node responded to the range request with a range
+     */
+    public boolean isRangeServedByNode() {
+        return rangeServedByNode;
+    }
+
+    /**
+     * Returns the position of the first byte written to the client within the log file.
+     *
+     * @return offset of the served range, or 0 if the whole file is served
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the length of the whole log file as announced by the node.
+     *
+     * @return file length, or -1 if the node did not announce the length of the file
+     */
+    public long getFileLength() {
+        return fileLength;
+    }
+
+    /**
+     * Returns the number of bytes written to the client before compression.
+     *
+     * @return content length, or -1 if the node did not announce the length of the file
+     */
+    public long getContentLength() {
+        return status == SC_RANGE_NOT_SATISFIABLE ? 0 : length;
+    }
+
+    /**
+     * Returns the value of the Content-Range header of the response.
+     *
+     * @return content range, or null if the whole file is served
+     */
+    public String getContentRange() {
+        String completeLength = fileLength < 0 ? "*" : String.valueOf(fileLength);
+        if (status == SC_PARTIAL_CONTENT) {
+            return "bytes " + offset + "-" + (offset + length - 1) + "/" + completeLength;
+        } else if (status == SC_RANGE_NOT_SATISFIABLE) {
+            return "bytes */" + completeLength;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.micro.integrator.commons;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.ei.dashboard.core.commons.Constants;
+import org.wso2.ei.dashboard.core.exception.DashboardServerException;
+import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+import org.wso2.micro.integrator.dashboard.utils.ExecutorServiceHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.sse.OutboundSseEvent;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+
+/**
+ * Pushes the lines appended to a log file of a node to the dashboard clients tailing it over server-sent events. All
+ * clients tailing the same file share one tailer, which polls the node for the bytes after the last polled offset
+ * with a range request and stops once the last client disconnects. Clients receive the lines appended after they
+ * subscribed, except the first client, which also receives the last few lines of the file. Tailing needs nodes which
+ * support range requests. A node serving the whole file instead would transfer the complete file on every poll, hence
+ * the clients receive an error event and the tailer stops.
+ */
+public final class LogTailer {
+
+    private static final Logger logger = LogManager.getLogger(LogTailer.class);
+    private static final Map<String, LogTailer> tailers = new ConcurrentHashMap<>();
+
+    private static final String LOG_EVENT = "log";
+    private static final String ERROR_EVENT = "error";
+    private static final int INITIAL_TAIL_BYTES = 8192;
+    private static final int MAX_POLL_BYTES = 1024 * 1024;
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+    private static final long KEEP_ALIVE_INTERVAL = TimeUnit.SECONDS.toNanos(15);
+
+    private final String key;
+    private final LogSource source;
+    private final Sse sse;
+    private final Set<SseEventSink> sinks = new CopyOnWriteArraySet<>();
+    // Only accessed by the poll task, whose runs do not overlap.
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private long offset = -1;
+    private long lastEventTime = System.nanoTime();
+    private ScheduledFuture<?> pollTask;
+
+    private LogTailer(String key, LogSource source, Sse sse) {
+        this.key = key;
+        this.source = source;
+        this.sse = sse;
+    }
+
+    /**
+     * Subscribes a client to the new lines of a log file, starting a tailer for the file if it is not tailed yet.
+     *
+     * @param groupId  group id of the node
+     * @param nodeId   node id
+     * @param fileName name of the log file
+     * @param source   source fetching byte ranges of the log file from the node
+     * @param sink     event sink of the client
+     * @param sse      server-sent events context used to build the events
+     */
+    public static void subscribe(String groupId, String nodeId, String fileName, LogSource source,
+                                 SseEventSink sink, Sse sse) {
+        tailers.compute(groupId + "/" + nodeId + "/" + fileName, (key, tailer) -> {
+            if (tailer == null) {
+                tailer = new LogTailer(key, source, sse);
+                tailer.pollTask = ExecutorServiceHolder.getLogTailExecutorService().scheduleWithFixedDelay(
+                        tailer::poll, 0, Constants.LOG_TAIL_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            }
+            tailer.sinks.add(sink);
+            return tailer;
+        });
+    }
+
+    private void poll() {
+        try {
+            String lines = fetchNewLines();
+            if (!lines.isEmpty()) {
+                send(sse.newEventBuilder().name(LOG_EVENT).data(String.class, lines).build());
+            } else if (System.nanoTime() - lastEventTime > KEEP_ALIVE_INTERVAL) {
+                // Writing to a sink is the only way to find out that its client has gone away.
+                send(sse.newEventBuilder().comment("keep-alive").build());
+            }
+            stopIfIdle();
+        } catch (ManagementApiException | IOException | RuntimeException e) {
+            logger.error("Error occurred while tailing log file " + key, e);
+            stop(sse.newEventBuilder().name(ERROR_EVENT).data(String.class, String.valueOf(e.getMessage())).build());
+        }
+    }
+
+    private String fetchNewLines() throws ManagementApiException, IOException {
+        String range = offset < 0 ? "bytes=-" + INITIAL_TAIL_BYTES
+                                  : "bytes=" + offset + "-" + (offset + MAX_POLL_BYTES - 1);
+        LogFileStream stream = source.fetch(range);
+        if (!stream.isRangeServedByNode()) {
+            stream.discard();
+            throw new DashboardServerException("Node does not support range requests, hence the log file cannot be "
+                                               + "tailed");
+        }
+        LineCollector collector;
+        if (stream.getStatus() == LogFileStream.SC_RANGE_NOT_SATISFIABLE) {
+            collector = new LineCollector(false);
+            if (offset < 0 || (stream.getFileLength() >= 0 && stream.getFileLength() < offset)) {
+                // The file is empty, or it has been rotated and is read again from the start.
+                offset = 0;
+                partialLine.reset();
+            }
+        } else {
+            // The first line of the initial tail is most likely cut, hence it is dropped.
+            collector = new LineCollector(offset < 0 && stream.getOffset() > 0);
+            stream.write(collector);
+            offset = stream.getOffset() + stream.getContentLength();
+        }
+        return collector.getLines();
+    }
+
+    private void send(OutboundSseEvent event) {
+        lastEventTime = System.nanoTime();
+        for (SseEventSink sink : sinks) {
+            if (sink.isClosed()) {
+                sinks.remove(sink);
+                continue;
+            }
+            sink.send(event).whenComplete((result, error) -> {
+                if (error != null) {
+                    sinks.remove(sink);
+                    closeQuietly(sink);
+                }
+            });
+        }
+    }
+
+    private void stopIfIdle() {
+        tailers.computeIfPresent(key, (tailerKey, tailer) -> {
+            if (tailer == this && sinks.isEmpty()) {
+                pollTask.cancel(false);
+                return null;
+            }
+            return tailer;
+        });
+    }
+
+    private void stop(OutboundSseEvent event) {
+        // Clients subscribing after this point start a new tailer.
+        tailers.remove(key, this);
+        pollTask.cancel(false);
+        send(event);
+        sinks.forEach(LogTailer::closeQuietly);
+        sinks.clear();
+    }
+
+    private static void closeQuietly(SseEventSink sink) {
+        try {
+            sink.close();
+        } catch (RuntimeException e) {
+            logger.debug("Error occurred while closing log tail event sink.", e);
+        }
+    }
+
+    /**
+     * Splits the bytes polled from the node into lines, carrying the last incomplete line over to the next poll.
+     */
+    private class LineCollector extends OutputStream {
+
+        private final StringBuilder lines = new StringBuilder();
+        private boolean skipFirstLine;
+
+        LineCollector(boolean skipFirstLine) {
+            this.skipFirstLine = skipFirstLine;
+        }
+
+        @Override
+        public void write(int b) {
+            if (skipFirstLine) {
+                skipFirstLine = b != '\n';
+            } else if (b == '\n') {
+                appendLine();
+            } else {
+                partialLine.write(b);
+                if (partialLine.size() >= MAX_LINE_BYTES) {
+                    appendLine();
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(bytes[i]);
+            }
+        }
+
+        private void appendLine() {
+            if (lines.length() > 0) {
+                lines.append('\n');
+            }
+            String line = new String(partialLine.toByteArray(), StandardCharsets.UTF_8);
+            lines.append(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+            partialLine.reset();
+        }
+
+        String getLines() {
+            return lines.toString();
+        }
+    }
+
+    /**
+     * Source of the byte ranges of a tailed log file.
+     */
+    @FunctionalInterface
+    public interface LogSource {
+
+        /**
+         * Fetches a byte range of the log file from the node.
+         *
+         * @param range value of the Range header to send
+         * @return stream of the requested range
+         * @throws ManagementApiException if the log file could not be fetched from the node
+         */
+        LogFileStream fetch(String range) throws ManagementApiException;
+    }
+}
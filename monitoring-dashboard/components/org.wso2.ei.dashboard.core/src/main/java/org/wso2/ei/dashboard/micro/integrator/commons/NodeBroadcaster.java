@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.micro.integrator.commons;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.ei.dashboard.core.commons.Constants;
+import org.wso2.ei.dashboard.core.exception.DashboardServerException;
+import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+import org.wso2.ei.dashboard.core.rest.model.Ack;
+import org.wso2.ei.dashboard.core.rest.model.NodeAck;
+import org.wso2.ei.dashboard.core.rest.model.NodeList;
+import org.wso2.ei.dashboard.core.rest.model.NodeListInner;
+import org.wso2.micro.integrator.dashboard.utils.ExecutorServiceHolder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Sends a management API request to several nodes of a group concurrently, so that an operation on all nodes takes
+ * about one round trip. For updates every node gets its own result in the returned {@link Ack}, so a failing or slow
+ * node neither stops the request to the remaining nodes nor hides which nodes were updated.
+ */
+public final class NodeBroadcaster {
+
+    private static final Logger logger = LogManager.getLogger(NodeBroadcaster.class);
+
+    private NodeBroadcaster() {
+
+    }
+
+    /**
+     * Sends a management API request to each of the given nodes and waits until all of them respond or the node
+     * broadcast timeout elapses. The requests of all nodes share the same deadline, hence the whole broadcast takes
+     * about as long as the slowest node. Nodes which are unhealthy or not responding are not sent the request and
+     * are reported as failed right away.
+     *
+     * @param groupId group id of the nodes
+     * @param nodes   nodes to send the request to
+     * @param request request to send to a single node
+     * @return ack which succeeds only if all nodes succeeded, with the result of each node
+     */
+    public static Ack broadcast(String groupId, NodeList nodes, NodeRequest request) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Constants.NODE_BROADCAST_TIMEOUT);
+        Map<String, Future<NodeAck>> futures = new LinkedHashMap<>();
+        for (NodeListInner node : nodes) {
+            String nodeId = node.getNodeId();
+            if (!NodeCircuitBreaker.isAvailable(groupId, nodeId)) {
+                futures.put(nodeId, CompletableFuture.completedFuture(
+                        createResult(nodeId, Constants.FAIL_STATUS, "Node is unavailable")));
+                continue;
+            }
+            try {
+                futures.put(nodeId, ExecutorServiceHolder.getNodeBroadcastExecutorService().submit(
+                        () -> sendRequest(groupId, nodeId, request, deadline)));
+            } catch (RejectedExecutionException e) {
+                throw new DashboardServerException("Error occurred while sending request to node " + nodeId
+                                                   + " in group " + groupId, e);
+            }
+        }
+
+        List<NodeAck> results = new ArrayList<>(futures.size());
+        for (Map.Entry<String, Future<NodeAck>> entry : futures.entrySet()) {
+            NodeAck failure = getResult(groupId, entry.getKey(), entry.getValue(), deadline, results::add);
+            if (failure != null) {
+                results.add(failure);
+            }
+        }
+        long failedNodes = results.stream()
+                .filter(result -> !Constants.SUCCESS_STATUS.equals(result.getStatus())).count();
+
+        Ack ack = new Ack(failedNodes == 0 ? Constants.SUCCESS_STATUS : Constants.FAIL_STATUS);
+        if (failedNodes > 0) {
+            ack.setMessage("Failed on " + failedNodes + " of " + results.size() + " nodes");
+        }
+        ack.setResults(results);
+        return ack;
+    }
+
+    /**
+     * Runs a management API query against each of the given nodes concurrently and waits until all of them respond
+     * or the node broadcast timeout elapses. Unlike {@link #broadcast(String, NodeList, NodeRequest)}, the first
+     * failing node fails the whole query, since a partial result would be shown as the complete one. Nodes which
+     * are unhealthy or not responding are left out of the query and hence of the results.
+     *
+     * @param groupId group id of the nodes
+     * @param nodeIds ids of the nodes to query
+     * @param query   query to run against a single node
+     * @param <T>     type of the result of a single node
+     * @return results of the available nodes, in the order of the given node ids
+     * @throws ManagementApiException if any of the nodes fails or does not respond in time
+     */
+    public static <T> Map<String, T> query(String groupId, List<String> nodeIds, NodeQuery<T> query)
+            throws ManagementApiException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Constants.NODE_BROADCAST_TIMEOUT);
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        Map<String, T> results = new LinkedHashMap<>();
+        try {
+            for (String nodeId : nodeIds) {
+                if (!NodeCircuitBreaker.isAvailable(groupId, nodeId)) {
+                    logger.debug("Skipping unavailable node " + nodeId + " in group " + groupId);
+                    continue;
+                }
+                futures.put(nodeId, ExecutorServiceHolder.getNodeBroadcastExecutorService().submit(
+                        () -> callWithPermit(groupId, nodeId, deadline, () -> query.fetch(nodeId))));
+            }
+            for (Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+                results.put(entry.getKey(), getQueryResult(groupId, entry.getKey(), entry.getValue(), deadline));
+            }
+        } catch (RejectedExecutionException e) {
+            throw new DashboardServerException("Error occurred while querying nodes in group " + groupId, e);
+        } finally {
+            if (results.size() < futures.size()) {
+                futures.values().forEach(future -> future.cancel(true));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs a management API query against each of the given nodes concurrently and returns whatever the nodes
+     * returned by the time all of them respond or the node broadcast timeout elapses. Unlike
+     * {@link #query(String, List, NodeQuery)}, a failing, slow or unavailable node does not fail the whole query but
+     * is reported among the failures of the result, so the caller can show a partial result along with the nodes it
+     * is missing.
+     *
+     * @param groupId group id of the nodes
+     * @param nodeIds ids of the nodes to query
+     * @param query   query to run against a single node
+     * @param <T>     type of the result of a single node
+     * @return results of the nodes which responded in time, and the failure of each other node
+     */
+    public static <T> GatherResult<T> gather(String groupId, List<String> nodeIds, NodeQuery<T> query) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Constants.NODE_BROADCAST_TIMEOUT);
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        GatherResult<T> result = new GatherResult<>();
+        for (String nodeId : nodeIds) {
+            if (!NodeCircuitBreaker.isAvailable(groupId, nodeId)) {
+                result.failures.add(createResult(nodeId, Constants.FAIL_STATUS, "Node is unavailable"));
+                continue;
+            }
+            try {
+                futures.put(nodeId, ExecutorServiceHolder.getNodeBroadcastExecutorService().submit(
+                        () -> callWithPermit(groupId, nodeId, deadline, () -> query.fetch(nodeId))));
+            } catch (RejectedExecutionException e) {
+                futures.values().forEach(future -> future.cancel(true));
+                throw new DashboardServerException("Error occurred while querying nodes in group " + groupId, e);
+            }
+        }
+        for (Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+            String nodeId = entry.getKey();
+            NodeAck failure = getResult(groupId, nodeId, entry.getValue(), deadline,
+                                        value -> result.results.put(nodeId, value));
+            if (failure != null) {
+                result.failures.add(failure);
+            }
+        }
+        return result;
+    }
+
+    private static <T> T getQueryResult(String groupId, String nodeId, Future<T> future, long deadline)
+            throws ManagementApiException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ManagementApiException("Timed out while waiting for node " + nodeId + " in group " + groupId,
+                                             504, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ManagementApiException) {
+                throw (ManagementApiException) cause;
+            } else if (cause instanceof TimeoutException) {
+                throw new ManagementApiException("Timed out while waiting for node " + nodeId + " in group "
+                                                 + groupId, 504, cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new DashboardServerException("Error occurred while querying node " + nodeId + " in group "
+                                               + groupId, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DashboardServerException("Interrupted while querying node " + nodeId + " in group "
+                                               + groupId, e);
+        }
+    }
+
+    private static NodeAck sendRequest(String groupId, String nodeId, NodeRequest request, long deadline)
+            throws Exception {
+        return callWithPermit(groupId, nodeId, deadline, () -> {
+            request.send(nodeId);
+            return createResult(nodeId, Constants.SUCCESS_STATUS, null);
+        });
+    }
+
+    private static <T> T callWithPermit(String groupId, String nodeId, long deadline, Callable<T> call)
+            throws Exception {
+        Semaphore permits = NodeRequestLimiter.getPermits(groupId, nodeId);
+        if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException();
+        }
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Waits for the result of a single node and hands it to the given consumer. If the node fails or does not
+     * respond in time, its failure is returned instead.
+     */
+    private static <T> NodeAck getResult(String groupId, String nodeId, Future<T> future, long deadline,
+                                         Consumer<T> resultConsumer) {
+        try {
+            resultConsumer.accept(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            return null;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.error("Timed out while waiting for node " + nodeId + " in group " + groupId);
+            return createResult(nodeId, Constants.FAIL_STATUS, "Timed out while waiting for the node");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                logger.error("Timed out while waiting for node " + nodeId + " in group " + groupId);
+                return createResult(nodeId, Constants.FAIL_STATUS, "Timed out while waiting for the node");
+            }
+            logger.error("Error occurred while sending request to node " + nodeId + " in group " + groupId, cause);
+            return createResult(nodeId, Constants.FAIL_STATUS, cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return createResult(nodeId, Constants.FAIL_STATUS, "Interrupted while waiting for the node");
+        }
+    }
+
+    private static NodeAck createResult(String nodeId, String status, String message) {
+        NodeAck result = new NodeAck();
+        result.setNodeId(nodeId);
+        result.setStatus(status);
+        result.setMessage(message);
+        return result;
+    }
+
+    /**
+     * Outcome of a gather, with the results of the nodes which responded in time and the failures of the others.
+     *
+     * @param <T> type of the result of a single node
+     */
+    public static final class GatherResult<T> {
+
+        private final Map<String, T> results = new LinkedHashMap<>();
+        private final List<NodeAck> failures = new ArrayList<>();
+
+        private GatherResult() {
+
+        }
+
+        /**
+         * Returns the results of the nodes which responded in time, in the order of the queried node ids.
+         *
+         * @return results keyed by node id
+         */
+        public Map<String, T> getResults() {
+            return results;
+        }
+
+        /**
+         * Returns the failure of each node which is unavailable, failed or did not respond in time.
+         *
+         * @return failures of the nodes
+         */
+        public List<NodeAck> getFailures() {
+            return failures;
+        }
+    }
+
+    /**
+     * Management API request sent to a single node of a broadcast.
+     */
+    @FunctionalInterface
+    public interface NodeRequest {
+
+        /**
+         * Sends the request to the given node.
+         *
+         * @param nodeId node id
+         * @throws ManagementApiException if the node could not be reached or rejected the request
+         */
+        void send(String nodeId) throws ManagementApiException;
+    }
+
+    /**
+     * Management API query run against a single node.
+     *
+     * @param <T> type of the result of the node
+     */
+    @FunctionalInterface
+    public interface NodeQuery<T> {
+
+        /**
+         * Runs the query against the given node.
+         *
+         * @param nodeId node id
+         * @return result of the node
+         * @throws ManagementApiException if the node could not be reached or rejected the request
+         */
+        T fetch(String nodeId) throws ManagementApiException;
+    }
+}
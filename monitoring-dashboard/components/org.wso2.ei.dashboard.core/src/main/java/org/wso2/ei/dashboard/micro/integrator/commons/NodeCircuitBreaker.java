@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.wso2.ei.dashboard.micro.integrator.commons;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.ei.dashboard.core.commons.Constants;
+import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+import org.wso2.ei.dashboard.core.exception.NodeConnectionException;
+import org.wso2.ei.dashboard.core.rest.delegates.nodes.NodesDelegate;
+
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops sending management API requests to a micro integrator node which does not respond, so that requests to a
+ * hanging node fail fast instead of tying up the threads shared with the other nodes. Each node has a breaker which
+ * tracks the outcome of its most recent requests. The breaker opens when too many of them failed to reach the node
+ * or were slow, rejects requests while open, and lets a single trial request through once the open duration has
+ * passed. Requests to registered nodes which missed their heartbeats are rejected as well. Nodes without a heartbeat,
+ * such as those being registered, are only subject to their breaker.
+ */
+public final class NodeCircuitBreaker {
+
+    private static final Logger logger = LogManager.getLogger(NodeCircuitBreaker.class);
+    private static final int HTTP_SC_SERVICE_UNAVAILABLE = 503;
+    private static final int MINIMUM_NUMBER_OF_CALLS = 5;
+    private static final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    private NodeCircuitBreaker() {
+
+    }
+
+    /**
+     * Checks whether a request can be sent to the given node. Every request allowed by this method has to be
+     * reported with {@link #onSuccess(String, String, long)} or {@link #onError(String, String, long, Throwable)}.
+     *
+     * @param groupId group id of the node
+     * @param nodeId  node id
+     * @throws ManagementApiException if the node missed its heartbeats or its breaker is open
+     */
+    public static void acquirePermission(String groupId, String nodeId) throws ManagementApiException {
+        if (isUnhealthy(groupId, nodeId)) {
+            throw new ManagementApiException("Node " + nodeId + " in group " + groupId + " is unhealthy",
+                                             HTTP_SC_SERVICE_UNAVAILABLE);
+        }
+        if (!getBreaker(groupId, nodeId).tryAcquirePermission()) {
+            throw new ManagementApiException("Node " + nodeId + " in group " + groupId + " is not responding",
+                                             HTTP_SC_SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Checks whether the given node is expected to accept requests, without claiming the trial request of an open
+     * breaker. Group-wide operations use this to leave out unavailable nodes.
+     *
+     * @param groupId group id of the node
+     * @param nodeId  node id
+     * @return false if the node missed its heartbeats or its breaker is open
+     */
+    public static boolean isAvailable(String groupId, String nodeId) {
+        return !isUnhealthy(groupId, nodeId) && !getBreaker(groupId, nodeId).isOpen();
+    }
+
+    /**
+     * Records a request which got a response from the node, whatever its status code.
+     *
+     * @param groupId  group id of the node
+     * @param nodeId   node id
+     * @param duration duration of the request in nanoseconds
+     */
+    public static void onSuccess(String groupId, String nodeId, long duration) {
+        getBreaker(groupId, nodeId).record(false, isSlow(duration), groupId, nodeId);
+    }
+
+    /**
+     * Records a request which failed. Only errors raised while sending the request to the node or receiving its
+     * response, such as connection failures and timeouts, count as failures of the node. Errors raised while handling
+     * a response, such as a body which fails to parse, do not.
+     *
+     * @param groupId  group id of the node
+     * @param nodeId   node id
+     * @param duration duration of the request in nanoseconds
+     * @param error    error of the request
+     */
+    public static void onError(String groupId, String nodeId, long duration, Throwable error) {
+        getBreaker(groupId, nodeId).record(isNodeFailure(error), isSlow(duration), groupId, nodeId);
+    }
+
+    /**
+     * Drops the breaker of a node, once the node is removed from the dashboard.
+     */
+    public static void removeNode(String groupId, String nodeId) {
+        breakers.remove(getKey(groupId, nodeId));
+    }
+
+    private static boolean isUnhealthy(String groupId, String nodeId) {
+        return NodesDelegate.isRegistered(groupId, nodeId) && !NodesDelegate.isHealthy(groupId, nodeId);
+    }
+
+    private static boolean isNodeFailure(Throwable error) {
+        Throwable failure = error;
+        while (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return failure instanceof NodeConnectionException;
+    }
+
+    private static boolean isSlow(long duration) {
+        return TimeUnit.NANOSECONDS.toMillis(duration) >= Constants.CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD;
+    }
+
+    private static Breaker getBreaker(String groupId, String nodeId) {
+        return breakers.computeIfAbsent(getKey(groupId, nodeId), key -> new Breaker());
+    }
+
+    private static String getKey(String groupId, String nodeId) {
+        return groupId + "/" + nodeId;
+    }
+
+    /**
+     * State of the breaker of a node.
+     */
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Breaker of a node, with the outcomes of the most recent requests in a ring buffer.
+     */
+    private static final class Breaker {
+
+        private final boolean[] failedCalls = new boolean[Constants.CIRCUIT_BREAKER_WINDOW_SIZE];
+        private final boolean[] slowCalls = new boolean[Constants.CIRCUIT_BREAKER_WINDOW_SIZE];
+        private int nextIndex;
+        private int numberOfCalls;
+        private int numberOfFailedCalls;
+        private int numberOfSlowCalls;
+        private State state = State.CLOSED;
+        private long openedAt;
+        private boolean isTrialInFlight;
+
+        private synchronized boolean tryAcquirePermission() {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (System.currentTimeMillis() - openedAt < Constants.CIRCUIT_BREAKER_OPEN_DURATION) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    isTrialInFlight = true;
+                    return true;
+                default:
+                    if (isTrialInFlight) {
+                        return false;
+                    }
+                    isTrialInFlight = true;
+                    return true;
+            }
+        }
+
+        private synchronized boolean isOpen() {
+            if (state == State.OPEN) {
+                return System.currentTimeMillis() - openedAt < Constants.CIRCUIT_BREAKER_OPEN_DURATION;
+            }
+            return state == State.HALF_OPEN && isTrialInFlight;
+        }
+
+        private synchronized void record(boolean isFailed, boolean isSlow, String groupId, String nodeId) {
+            if (state == State.HALF_OPEN) {
+                isTrialInFlight = false;
+                if (isFailed || isSlow) {
+                    open(groupId, nodeId);
+                } else {
+                    logger.info("Node " + nodeId + " in group " + groupId + " is responding again");
+                    state = State.CLOSED;
+                }
+                return;
+            } else if (state == State.OPEN) {
+                // The request was sent before the breaker opened.
+                return;
+            }
+            if (numberOfCalls == failedCalls.length) {
+                numberOfFailedCalls -= failedCalls[nextIndex] ? 1 : 0;
+                numberOfSlowCalls -= slowCalls[nextIndex] ? 1 : 0;
+            } else {
+                numberOfCalls++;
+            }
+            failedCalls[nextIndex] = isFailed;
+            slowCalls[nextIndex] = isSlow;
+            numberOfFailedCalls += isFailed ? 1 : 0;
+            numberOfSlowCalls += isSlow ? 1 : 0;
+            nextIndex = (nextIndex + 1) % failedCalls.length;
+
+            if (numberOfCalls >= Math.min(MINIMUM_NUMBER_OF_CALLS, failedCalls.length)
+                && (numberOfFailedCalls * 100 >= Constants.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD * numberOfCalls
+                    || numberOfSlowCalls * 100 >= Constants.CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD * numberOfCalls)) {
+                open(groupId, nodeId);
+            }
+        }
+
+        private void open(String groupId, String nodeId) {
+            logger.warn("Node " + nodeId + " in group " + groupId + " is not responding. Requests to the node are "
+                        + "suspended for " + Constants.CIRCUIT_BREAKER_OPEN_DURATION + " ms");
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            nextIndex = 0;
+            numberOfCalls = 0;
+            numberOfFailedCalls = 0;
+            numberOfSlowCalls = 0;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.micro.integrator.commons;
+
+import org.wso2.ei.dashboard.core.commons.Constants;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of management API requests the dashboard keeps in flight against a single micro integrator node.
+ */
+public final class NodeRequestLimiter {
+
+    private static final Map<String, Semaphore> nodePermits = new ConcurrentHashMap<>();
+
+    private NodeRequestLimiter() {
+
+    }
+
+    /**
+     * Returns the permits of the given node. Callers should acquire a permit before dispatching a request and release
+     * it on the same semaphore instance once the request completes.
+     *
+     * @param groupId group id of the node
+     * @param nodeId  node id
+     * @return semaphore holding the permits of the node
+     */
+    public static Semaphore getPermits(String groupId, String nodeId) {
+        return nodePermits.computeIfAbsent(getKey(groupId, nodeId),
+                                           key -> new Semaphore(Constants.MAX_CONCURRENT_REQUESTS_PER_NODE));
+    }
+
+    public static void removePermits(String groupId, String nodeId) {
+        nodePermits.remove(getKey(groupId, nodeId));
+    }
+
+    private static String getKey(String groupId, String nodeId) {
+        return groupId + "/" + nodeId;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.micro.integrator.commons;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.ei.dashboard.core.rest.delegates.heartbeat.HeartbeatObject;
+import org.wso2.ei.dashboard.core.rest.model.UpdatedArtifact;
+import org.wso2.micro.integrator.dashboard.utils.ExecutorServiceHolder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces the artifact changes sent by the heartbeats of a node, so that at most one update per node is queued or
+ * running at a time. Changes received while an update of the node is pending are merged into it, and changes received
+ * while it is running are merged into the next update of the node. Hence an artifact redeployed several times in a
+ * row is fetched once rather than once per heartbeat.
+ */
+public final class NodeUpdateCoalescer {
+
+    private static final Logger logger = LogManager.getLogger(NodeUpdateCoalescer.class);
+    private static final Map<String, HeartbeatObject> pendingUpdates = new ConcurrentHashMap<>();
+    private static final Set<String> scheduledNodes = ConcurrentHashMap.newKeySet();
+
+    private NodeUpdateCoalescer() {
+
+    }
+
+    /**
+     * Merges the changes of the given heartbeat into the pending update of the node and schedules the update unless
+     * one is already scheduled.
+     *
+     * @param heartbeat heartbeat carrying the changes of the node
+     * @param updater   applies an update to the stored artifacts of the node
+     */
+    public static void submit(HeartbeatObject heartbeat, Consumer<HeartbeatObject> updater) {
+        String nodeKey = getKey(heartbeat.getGroupId(), heartbeat.getNodeId());
+        pendingUpdates.merge(nodeKey, heartbeat, NodeUpdateCoalescer::merge);
+        if (scheduledNodes.add(nodeKey)) {
+            try {
+                ExecutorServiceHolder.getMiArtifactsManagerExecutorService().execute(
+                        () -> drain(nodeKey, updater));
+            } catch (RejectedExecutionException e) {
+                scheduledNodes.remove(nodeKey);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Drops the pending update of a node, once the node is removed from the dashboard.
+     */
+    public static void removeNode(String groupId, String nodeId) {
+        pendingUpdates.remove(getKey(groupId, nodeId));
+    }
+
+    private static void drain(String nodeKey, Consumer<HeartbeatObject> updater) {
+        while (true) {
+            HeartbeatObject update = pendingUpdates.remove(nodeKey);
+            if (update == null) {
+                scheduledNodes.remove(nodeKey);
+                // Changes merged after the last update was taken and before the node was unscheduled are applied
+                // here, unless a new drain was scheduled for them.
+                if (!pendingUpdates.containsKey(nodeKey) || !scheduledNodes.add(nodeKey)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                updater.accept(update);
+            } catch (RuntimeException e) {
+                logger.error("Error occurred while updating artifacts of node " + update.getNodeId() + " in group "
+                             + update.getGroupId(), e);
+            }
+        }
+    }
+
+    /**
+     * Merges the changes of a newer heartbeat into a pending update. The latest deployment of an artifact wins and an
+     * undeployment drops earlier deployments of the artifact. An undeployment followed by a deployment is kept as
+     * both, since a redeployed artifact has to be deleted before it is stored again. The digests and the management
+     * API url are taken from the newer heartbeat as they describe the current state of the node.
+     */
+    private static HeartbeatObject merge(HeartbeatObject pending, HeartbeatObject latest) {
+        Map<String, UpdatedArtifact> deployedArtifacts = new LinkedHashMap<>();
+        Map<String, UpdatedArtifact> undeployedArtifacts = new LinkedHashMap<>();
+        for (HeartbeatObject heartbeat : new HeartbeatObject[] { pending, latest }) {
+            for (UpdatedArtifact artifact : heartbeat.getUndeployedArtifacts()) {
+                deployedArtifacts.remove(getKey(artifact.getType(), artifact.getName()));
+                undeployedArtifacts.put(getKey(artifact.getType(), artifact.getName()), artifact);
+            }
+            for (UpdatedArtifact artifact : heartbeat.getDeployedArtifacts()) {
+                deployedArtifacts.put(getKey(artifact.getType(), artifact.getName()), artifact);
+            }
+        }
+        return new HeartbeatObject(latest.getProduct(), latest.getGroupId(), latest.getNodeId(),
+                                   latest.getInterval(), latest.getMgtApiUrl(), latest.getTimestamp(),
+                                   new ArrayList<>(deployedArtifacts.values()),
+                                   new ArrayList<>(undeployedArtifacts.values()), latest.getArtifactDigests());
+    }
+
+    private static String getKey(String first, String second) {
+        return first + "/" + second;
+    }
+}
@@ -22,100 +22,233 @@ package org.wso2.ei.dashboard.micro.integrator.commons;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.wso2.ei.dashboard.core.commons.utils.AsyncHttpUtils;
 import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
-import org.wso2.ei.dashboard.core.commons.utils.ManagementApiUtils;
-import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
-import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
 import org.wso2.ei.dashboard.core.exception.ManagementApiException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
 /**
  * Util class for micro integrator dashboard.
  */
 public class Utils {
     private static final Logger logger = LogManager.getLogger(Utils.class);
-    private static final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
     private static final int HTTP_SC_UNAUTHORIZED = 401;
+    private static final int HTTP_SC_RANGE_NOT_SATISFIABLE = 416;
+    private static final int HTTP_SC_INTERNAL_SERVER_ERROR = 500;
 
-    public static CloseableHttpResponse doGet(String groupId, String nodeId, String accessToken, String url)
-            throws ManagementApiException {
-        CloseableHttpResponse response = HttpUtils.doGet(accessToken, url);
-        int httpSc = response.getStatusLine().getStatusCode();
-        if (response.getStatusLine().getStatusCode() == HTTP_SC_UNAUTHORIZED) {
-            accessToken = retrieveNewAccessToken(groupId, nodeId);
-            response = HttpUtils.doGet(accessToken, url);
-        } else if (isNotSuccessCode(httpSc)) {
-            JsonElement error = HttpUtils.getJsonResponse(response).get("Error");
-            String errorMessage = "Error occurred. Please check server logs.";
-            if (error != null) {
-                String message = error.getAsString();
-                if (null != message && !message.isEmpty()) {
-                    errorMessage = message;
-                }
+    /**
+     * Sends a get request and returns the raw response, retrying once with a new access token if the node rejects
+     * the current one. The caller has to release the response, so this is only meant for responses which are
+     * streamed to the client. Use {@link #doGet(String, String, String, String, ResponseHandler)} for everything
+     * else. When a range is requested, a 416 response is returned as well so that the caller can read the length
+     * of the resource from it.
+     */
+    public static CloseableHttpResponse doGetStream(String groupId, String nodeId, String accessToken, String url,
+                                                    String range) throws ManagementApiException {
+        NodeCircuitBreaker.acquirePermission(groupId, nodeId);
+        long startTime = System.nanoTime();
+        CloseableHttpResponse response;
+        int httpSc;
+        try {
+            response = HttpUtils.doGet(accessToken, url, range);
+            httpSc = response.getStatusLine().getStatusCode();
+            if (httpSc == HTTP_SC_UNAUTHORIZED) {
+                HttpUtils.releaseResponse(response);
+                accessToken = AccessTokenStore.refreshAccessToken(groupId, nodeId, accessToken);
+                response = HttpUtils.doGet(accessToken, url, range);
+                httpSc = response.getStatusLine().getStatusCode();
             }
+        } catch (RuntimeException | ManagementApiException e) {
+            NodeCircuitBreaker.onError(groupId, nodeId, System.nanoTime() - startTime, e);
+            throw e;
+        }
+        NodeCircuitBreaker.onSuccess(groupId, nodeId, System.nanoTime() - startTime);
+        if (isNotSuccessCode(httpSc) && !(range != null && httpSc == HTTP_SC_RANGE_NOT_SATISFIABLE)) {
+            String errorMessage = getErrorMessage(response);
+            HttpUtils.releaseResponse(response);
             throw new ManagementApiException(errorMessage, httpSc);
         }
         return response;
     }
 
-    public static CloseableHttpResponse doPost(String groupId, String nodeId, String accessToken, String url,
-                                               JsonObject payload) throws ManagementApiException {
-        CloseableHttpResponse response = HttpUtils.doPost(accessToken, url, payload);
-        int httpSc = response.getStatusLine().getStatusCode();
-        if (response.getStatusLine().getStatusCode() == HTTP_SC_UNAUTHORIZED) {
-            accessToken = retrieveNewAccessToken(groupId, nodeId);
-            response = HttpUtils.doPost(accessToken, url, payload);
-        } else if (isNotSuccessCode(httpSc)) {
-            JsonElement error = HttpUtils.getJsonResponse(response).get("Error");
-            String errorMessage = "Error occurred. Please check server logs.";
-            if (error != null) {
-                String message = error.getAsString();
-                if (null != message && !message.isEmpty()) {
-                    errorMessage = message;
-                }
-            }
-            throw new ManagementApiException(errorMessage, httpSc);
+    public static <T> T doGet(String groupId, String nodeId, String accessToken, String url,
+                              ResponseHandler<? extends T> handler) throws ManagementApiException {
+        return send(groupId, nodeId, accessToken, (token, resultHandler) -> HttpUtils.doGet(token, url, resultHandler),
+                    handler);
+    }
+
+    public static <T> T doPost(String groupId, String nodeId, String accessToken, String url, JsonObject payload,
+                               ResponseHandler<? extends T> handler) throws ManagementApiException {
+        return send(groupId, nodeId, accessToken,
+                    (token, resultHandler) -> HttpUtils.doPost(token, url, payload, resultHandler), handler);
+    }
+
+    public static <T> T doPatch(String groupId, String nodeId, String accessToken, String url, JsonObject payload,
+                                ResponseHandler<? extends T> handler) throws ManagementApiException {
+        return send(groupId, nodeId, accessToken,
+                    (token, resultHandler) -> HttpUtils.doPatch(token, url, payload, resultHandler), handler);
+    }
+
+    public static <T> T doDelete(String groupId, String nodeId, String accessToken, String url,
+                                 ResponseHandler<? extends T> handler) throws ManagementApiException {
+        return send(groupId, nodeId, accessToken,
+                    (token, resultHandler) -> HttpUtils.doDelete(token, url, resultHandler), handler);
+    }
+
+    public static CompletableFuture<HttpResponse> doGetAsync(String groupId, String nodeId, String accessToken,
+                                                             String url) {
+        return sendAsync(groupId, nodeId, accessToken, token -> AsyncHttpUtils.doGet(token, url));
+    }
+
+    public static CompletableFuture<HttpResponse> doPostAsync(String groupId, String nodeId, String accessToken,
+                                                              String url, JsonObject payload) {
+        return sendAsync(groupId, nodeId, accessToken, token -> AsyncHttpUtils.doPost(token, url, payload));
+    }
+
+    public static CompletableFuture<HttpResponse> doPatchAsync(String groupId, String nodeId, String accessToken,
+                                                               String url, JsonObject payload) {
+        return sendAsync(groupId, nodeId, accessToken, token -> AsyncHttpUtils.doPatch(token, url, payload));
+    }
+
+    public static CompletableFuture<HttpResponse> doDeleteAsync(String groupId, String nodeId, String accessToken,
+                                                                String url) {
+        return sendAsync(groupId, nodeId, accessToken, token -> AsyncHttpUtils.doDelete(token, url));
+    }
+
+    /**
+     * Sends a request without blocking the calling thread. As with the blocking variants, an unauthorized response
+     * is retried once with a new access token and any other unsuccessful response fails the returned future with a
+     * {@link ManagementApiException}. The token is retrieved on the token refresh pool since it involves blocking
+     * calls to the node and the database.
+     */
+    private static CompletableFuture<HttpResponse> sendAsync(
+            String groupId, String nodeId, String accessToken,
+            Function<String, CompletableFuture<HttpResponse>> request) {
+        try {
+            NodeCircuitBreaker.acquirePermission(groupId, nodeId);
+        } catch (ManagementApiException e) {
+            CompletableFuture<HttpResponse> rejection = new CompletableFuture<>();
+            rejection.completeExceptionally(e);
+            return rejection;
         }
-        return response;
+        long startTime = System.nanoTime();
+        return CompletableFuture.completedFuture(accessToken).thenCompose(request).thenCompose(response -> {
+            if (response.getStatusLine().getStatusCode() == HTTP_SC_UNAUTHORIZED) {
+                EntityUtils.consumeQuietly(response.getEntity());
+                return AccessTokenStore.refreshAccessTokenAsync(groupId, nodeId, accessToken).thenCompose(request)
+                                       .thenCompose(retriedResponse -> checkResponse(retriedResponse, true));
+            }
+            return checkResponse(response, false);
+        }).whenComplete((response, error) -> {
+            long duration = System.nanoTime() - startTime;
+            if (error == null) {
+                NodeCircuitBreaker.onSuccess(groupId, nodeId, duration);
+            } else {
+                NodeCircuitBreaker.onError(groupId, nodeId, duration, error);
+            }
+        });
     }
 
-    public static CloseableHttpResponse doPatch(String groupId, String nodeId, String accessToken, String url,
-                                                JsonObject payload) throws ManagementApiException {
-        CloseableHttpResponse response = HttpUtils.doPatch(accessToken, url, payload);
+    /**
+     * Fails the returned future with a {@link ManagementApiException} if the response is unsuccessful, in the same
+     * way as the blocking variants.
+     */
+    private static CompletableFuture<HttpResponse> checkResponse(HttpResponse response, boolean isRetried) {
         int httpSc = response.getStatusLine().getStatusCode();
-        if (response.getStatusLine().getStatusCode() == HTTP_SC_UNAUTHORIZED) {
-            accessToken = retrieveNewAccessToken(groupId, nodeId);
-            response = HttpUtils.doPatch(accessToken, url, payload);
-        } else if (isNotSuccessCode(httpSc)) {
-            throw new ManagementApiException(response.getStatusLine().getReasonPhrase(), httpSc);
+        if (isNotSuccessCode(httpSc)) {
+            CompletableFuture<HttpResponse> failure = new CompletableFuture<>();
+            // A node rejecting a token it has just issued is a problem with the node, as in the blocking variants.
+            failure.completeExceptionally(new ManagementApiException(
+                    getErrorMessage(response),
+                    isRetried && httpSc == HTTP_SC_UNAUTHORIZED ? HTTP_SC_INTERNAL_SERVER_ERROR : httpSc));
+            return failure;
         }
-        return response;
+        return CompletableFuture.completedFuture(response);
     }
 
-    public static CloseableHttpResponse doDelete(String groupId, String nodeId, String accessToken, String url)
-            throws ManagementApiException {
-        CloseableHttpResponse response = HttpUtils.doDelete(accessToken, url);
-        int httpSc = response.getStatusLine().getStatusCode();
-        if (response.getStatusLine().getStatusCode() == HTTP_SC_UNAUTHORIZED) {
-            accessToken = retrieveNewAccessToken(groupId, nodeId);
-            response = HttpUtils.doDelete(accessToken, url);
-        } else if (isNotSuccessCode(httpSc)) {
-            throw new ManagementApiException(response.getStatusLine().getReasonPhrase(), httpSc);
+    /**
+     * Sends a blocking request and hands a successful response to the given handler. The response is always
+     * released before this returns, so the handler must not keep a reference to it. An unauthorized response is
+     * retried once with a new access token and any other unsuccessful response results in a
+     * {@link ManagementApiException}.
+     */
+    private static <T> T send(String groupId, String nodeId, String accessToken, Request<T> request,
+                              ResponseHandler<? extends T> handler) throws ManagementApiException {
+        ResponseHandler<Result<T>> resultHandler = response -> {
+            int httpSc = response.getStatusLine().getStatusCode();
+            if (isNotSuccessCode(httpSc)) {
+                return new Result<>(httpSc, null, getErrorMessage(response));
+            }
+            return new Result<>(httpSc, handler.handleResponse(response), null);
+        };
+        NodeCircuitBreaker.acquirePermission(groupId, nodeId);
+        long startTime = System.nanoTime();
+        Result<T> result;
+        try {
+            result = request.send(accessToken, resultHandler);
+            if (result.statusCode == HTTP_SC_UNAUTHORIZED) {
+                result = request.send(AccessTokenStore.refreshAccessToken(groupId, nodeId, accessToken),
+                                      resultHandler);
+            }
+        } catch (RuntimeException | ManagementApiException e) {
+            NodeCircuitBreaker.onError(groupId, nodeId, System.nanoTime() - startTime, e);
+            throw e;
         }
-        return response;
+        NodeCircuitBreaker.onSuccess(groupId, nodeId, System.nanoTime() - startTime);
+        if (result.statusCode == HTTP_SC_UNAUTHORIZED) {
+            // The node rejected a token it has just issued. This is a problem with the node, not with the user of
+            // the dashboard, so it is not reported as unauthorized.
+            throw new ManagementApiException(result.errorMessage, HTTP_SC_INTERNAL_SERVER_ERROR);
+        } else if (isNotSuccessCode(result.statusCode)) {
+            throw new ManagementApiException(result.errorMessage, result.statusCode);
+        }
+        return result.value;
     }
 
-    private static String retrieveNewAccessToken(String groupId, String nodeId) throws ManagementApiException {
-        logger.debug("Retrieving new access-token from node " + nodeId + " in group " + groupId);
-        String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
-        String accessToken = ManagementApiUtils.getAccessToken(mgtApiUrl);
-        databaseManager.updateAccessToken(groupId, nodeId, accessToken);
-        return accessToken;
+    private static String getErrorMessage(HttpResponse response) {
+        try {
+            JsonElement error = HttpUtils.getJsonResponse(response).get("Error");
+            if (error != null && !error.getAsString().isEmpty()) {
+                return error.getAsString();
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Error response from the node does not contain a json payload.", e);
+        }
+        return response.getStatusLine().getReasonPhrase();
     }
 
     private static boolean isNotSuccessCode(int httpStatusCode) {
         return httpStatusCode / 100 != 2;
     }
+
+    /**
+     * Sends a request to a node with the given access token.
+     */
+    private interface Request<T> {
+        Result<T> send(String accessToken, ResponseHandler<Result<T>> handler);
+    }
+
+    /**
+     * Outcome of a blocking request, which carries either the handled response or the error reported by the node
+     * once the connection has been released.
+     */
+    private static final class Result<T> {
+        private final int statusCode;
+        private final T value;
+        private final String errorMessage;
+
+        private Result(int statusCode, T value, String errorMessage) {
+            this.statusCode = statusCode;
+            this.value = value;
+            this.errorMessage = errorMessage;
+        }
+    }
 }
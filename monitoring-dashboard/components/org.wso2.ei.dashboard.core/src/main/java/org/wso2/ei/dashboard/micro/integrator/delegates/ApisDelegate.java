@@ -28,6 +28,7 @@ import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
 import org.wso2.ei.dashboard.core.exception.ManagementApiException;
 import org.wso2.ei.dashboard.core.rest.delegates.ArtifactDelegate;
+import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsQuery;
 import org.wso2.ei.dashboard.core.rest.model.Ack;
 import org.wso2.ei.dashboard.core.rest.model.ArtifactUpdateRequest;
 import org.wso2.ei.dashboard.core.rest.model.Artifacts;
@@ -43,9 +44,14 @@ public class ApisDelegate implements ArtifactDelegate {
     private final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
 
     @Override
-    public Artifacts getArtifactsList(String groupId, List<String> nodeList) {
+    public Artifacts getArtifactsList(String groupId, List<String> nodeList, ArtifactsQuery query) {
         logger.debug("Fetching Apis from database.");
-        return databaseManager.fetchArtifacts(Constants.APIS, groupId, nodeList);
+        return databaseManager.fetchArtifacts(Constants.APIS, groupId, nodeList, query);
+    }
+
+    @Override
+    public int getArtifactsCount(String groupId, List<String> nodeList, ArtifactsQuery query) {
+        return databaseManager.countArtifacts(Constants.APIS, groupId, nodeList, query);
     }
 
     @Override
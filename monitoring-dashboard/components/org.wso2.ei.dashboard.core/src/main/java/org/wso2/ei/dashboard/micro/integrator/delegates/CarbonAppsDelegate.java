@@ -25,7 +25,6 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.wso2.ei.dashboard.core.commons.Constants;
 import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
 import org.wso2.ei.dashboard.core.commons.utils.ManagementApiUtils;
@@ -33,62 +32,98 @@ import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
 import org.wso2.ei.dashboard.core.exception.ManagementApiException;
 import org.wso2.ei.dashboard.core.rest.delegates.ArtifactDelegate;
+import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsQuery;
 import org.wso2.ei.dashboard.core.rest.model.Ack;
 import org.wso2.ei.dashboard.core.rest.model.ArtifactUpdateRequest;
 import org.wso2.ei.dashboard.core.rest.model.Artifacts;
 import org.wso2.ei.dashboard.core.rest.model.CAppArtifacts;
 import org.wso2.ei.dashboard.core.rest.model.CAppArtifactsInner;
+import org.wso2.ei.dashboard.micro.integrator.commons.AccessTokenStore;
+import org.wso2.ei.dashboard.micro.integrator.commons.NodeBroadcaster;
 import org.wso2.ei.dashboard.micro.integrator.commons.Utils;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Delegate class to handle requests from carbon application page.
  */
 public class CarbonAppsDelegate implements ArtifactDelegate {
     private static final Log log = LogFactory.getLog(CarbonAppsDelegate.class);
+    private static final Map<String, CachedCApps> cachedCApps = new ConcurrentHashMap<>();
     private final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
 
     @Override
-    public Artifacts getArtifactsList(String groupId, List<String> nodeList) {
+    public Artifacts getArtifactsList(String groupId, List<String> nodeList, ArtifactsQuery query) {
         log.debug("Fetching carbon applications from database.");
-        return databaseManager.fetchArtifacts(Constants.CARBON_APPLICATIONS, groupId, nodeList);
+        return databaseManager.fetchArtifacts(Constants.CARBON_APPLICATIONS, groupId, nodeList, query);
     }
 
-    public List<JsonObject> getAllCApps(String groupId, List<String> nodeList) throws ManagementApiException {
+    @Override
+    public int getArtifactsCount(String groupId, List<String> nodeList, ArtifactsQuery query) {
+        return databaseManager.countArtifacts(Constants.CARBON_APPLICATIONS, groupId, nodeList, query);
+    }
+
+    /**
+     * Fetches the carbon applications of the given nodes from their management APIs. The nodes are queried
+     * concurrently, so this takes about as long as the slowest node. A node which fails or does not respond in time
+     * is reported among the failures of the result instead of failing the whole request.
+     *
+     * @param groupId  group id of the nodes
+     * @param nodeList ids of the nodes
+     * @return carbon applications of each node which responded, and the failures of the others
+     */
+    public NodeBroadcaster.GatherResult<JsonObject> getAllCApps(String groupId, List<String> nodeList) {
         log.debug("Fetching carbon applications from management console");
-        List<JsonObject> jsonResponse = new ArrayList<JsonObject>();
-        for (String nodeId: nodeList) {
-            String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
-            String url = mgtApiUrl.concat("applications");
-
-            String accessToken = databaseManager.getAccessToken(groupId, nodeId);
-            CloseableHttpResponse httpResponse = Utils.doGet(groupId, nodeId, accessToken, url);
-            jsonResponse.add(HttpUtils.getJsonResponse(httpResponse));       
+        return NodeBroadcaster.gather(groupId, nodeList, nodeId -> getCApps(groupId, nodeId));
+    }
+
+    /**
+     * Drops the cached carbon applications of a node, once the node is removed from the dashboard.
+     */
+    public static void removeNode(String groupId, String nodeId) {
+        cachedCApps.remove(groupId + "/" + nodeId);
+    }
+
+    private static JsonObject getCApps(String groupId, String nodeId) throws ManagementApiException {
+        String key = groupId + "/" + nodeId;
+        CachedCApps cached = cachedCApps.get(key);
+        if (cached != null && cached.expiry > System.currentTimeMillis()) {
+            return cached.capps;
+        }
+        String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
+        String url = mgtApiUrl.concat("applications");
+
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
+        JsonObject capps = Utils.doGet(groupId, nodeId, accessToken, url, HttpUtils::getJsonResponse);
+        if (Constants.CAPPS_CACHE_TTL > 0) {
+            cachedCApps.put(key, new CachedCApps(capps, System.currentTimeMillis() + Constants.CAPPS_CACHE_TTL));
         }
-        return jsonResponse;
+        return capps;
     }
 
-    public CAppArtifacts getCAppArtifactList(String groupId, String nodeId, String cAppName)
+    public CompletableFuture<CAppArtifacts> getCAppArtifactList(String groupId, String nodeId, String cAppName)
             throws ManagementApiException {
         log.debug("Fetching artifacts in carbon applications from management console");
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
         String url = mgtApiUrl.concat("applications").concat("?").concat("carbonAppName").concat("=").concat(cAppName);
 
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
-        CloseableHttpResponse httpResponse = Utils.doGet(groupId, nodeId, accessToken, url);
-        JsonObject jsonResponse = HttpUtils.getJsonResponse(httpResponse);
-        JsonArray artifacts = jsonResponse.getAsJsonArray("artifacts");
-        CAppArtifacts cAppArtifacts = new CAppArtifacts();
-        for (JsonElement artifact : artifacts) {
-            JsonObject jsonObject = artifact.getAsJsonObject();
-            CAppArtifactsInner cAppArtifact = new CAppArtifactsInner();
-            cAppArtifact.setName(jsonObject.get("name").getAsString());
-            cAppArtifact.setType(jsonObject.get("type").getAsString());
-            cAppArtifacts.add(cAppArtifact);
-        }
-        return cAppArtifacts;
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
+        return Utils.doGetAsync(groupId, nodeId, accessToken, url).thenApply(httpResponse -> {
+            JsonObject jsonResponse = HttpUtils.getJsonResponse(httpResponse);
+            JsonArray artifacts = jsonResponse.getAsJsonArray("artifacts");
+            CAppArtifacts cAppArtifacts = new CAppArtifacts();
+            for (JsonElement artifact : artifacts) {
+                JsonObject jsonObject = artifact.getAsJsonObject();
+                CAppArtifactsInner cAppArtifact = new CAppArtifactsInner();
+                cAppArtifact.setName(jsonObject.get("name").getAsString());
+                cAppArtifact.setType(jsonObject.get("type").getAsString());
+                cAppArtifacts.add(cAppArtifact);
+            }
+            return cAppArtifacts;
+        });
     }
 
     @Override
@@ -96,4 +131,19 @@ public class CarbonAppsDelegate implements ArtifactDelegate {
 
         return null;
     }
+
+    /**
+     * Carbon applications of a node, kept for a short while so that the faulty carbon applications of a group can be
+     * fetched repeatedly without querying every node each time.
+     */
+    private static final class CachedCApps {
+
+        private final JsonObject capps;
+        private final long expiry;
+
+        private CachedCApps(JsonObject capps, long expiry) {
+            this.capps = capps;
+            this.expiry = expiry;
+        }
+    }
 }
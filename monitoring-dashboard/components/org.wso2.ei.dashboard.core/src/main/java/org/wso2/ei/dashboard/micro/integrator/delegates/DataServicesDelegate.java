@@ -26,6 +26,7 @@ import org.wso2.ei.dashboard.core.commons.Constants;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
 import org.wso2.ei.dashboard.core.rest.delegates.ArtifactDelegate;
+import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsQuery;
 import org.wso2.ei.dashboard.core.rest.model.Ack;
 import org.wso2.ei.dashboard.core.rest.model.ArtifactUpdateRequest;
 import org.wso2.ei.dashboard.core.rest.model.Artifacts;
@@ -40,9 +41,14 @@ public class DataServicesDelegate implements ArtifactDelegate {
     private final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
 
     @Override
-    public Artifacts getArtifactsList(String groupId, List<String> nodeList) {
+    public Artifacts getArtifactsList(String groupId, List<String> nodeList, ArtifactsQuery query) {
         log.debug("Fetching data-services from database.");
-        return databaseManager.fetchArtifacts(Constants.DATA_SERVICES, groupId, nodeList);
+        return databaseManager.fetchArtifacts(Constants.DATA_SERVICES, groupId, nodeList, query);
+    }
+
+    @Override
+    public int getArtifactsCount(String groupId, List<String> nodeList, ArtifactsQuery query) {
+        return databaseManager.countArtifacts(Constants.DATA_SERVICES, groupId, nodeList, query);
     }
 
     @Override
@@ -23,7 +23,6 @@ package org.wso2.ei.dashboard.micro.integrator.delegates;
 import com.google.gson.JsonObject;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.wso2.ei.dashboard.core.commons.Constants;
 import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
 import org.wso2.ei.dashboard.core.commons.utils.ManagementApiUtils;
@@ -31,13 +30,16 @@ import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
 import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
 import org.wso2.ei.dashboard.core.exception.ManagementApiException;
 import org.wso2.ei.dashboard.core.rest.delegates.ArtifactDelegate;
+import org.wso2.ei.dashboard.core.rest.delegates.ArtifactsQuery;
 import org.wso2.ei.dashboard.core.rest.model.Ack;
 import org.wso2.ei.dashboard.core.rest.model.ArtifactUpdateRequest;
 import org.wso2.ei.dashboard.core.rest.model.Artifacts;
 import org.wso2.ei.dashboard.core.rest.model.LocalEntryValue;
+import org.wso2.ei.dashboard.micro.integrator.commons.AccessTokenStore;
 import org.wso2.ei.dashboard.micro.integrator.commons.Utils;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Delegate class to handle requests from local entries page.
@@ -47,9 +49,14 @@ public class LocalEntriesDelegate implements ArtifactDelegate {
     private final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
 
     @Override
-    public Artifacts getArtifactsList(String groupId, List<String> nodeList) {
+    public Artifacts getArtifactsList(String groupId, List<String> nodeList, ArtifactsQuery query) {
         log.debug("Fetching local entries from database.");
-        return databaseManager.fetchArtifacts(Constants.LOCAL_ENTRIES, groupId, nodeList);
+        return databaseManager.fetchArtifacts(Constants.LOCAL_ENTRIES, groupId, nodeList, query);
+    }
+
+    @Override
+    public int getArtifactsCount(String groupId, List<String> nodeList, ArtifactsQuery query) {
+        return databaseManager.countArtifacts(Constants.LOCAL_ENTRIES, groupId, nodeList, query);
     }
 
     @Override
@@ -58,16 +65,18 @@ public class LocalEntriesDelegate implements ArtifactDelegate {
         return null;
     }
 
-    public LocalEntryValue getValue(String groupId, String nodeId, String localEntry) throws ManagementApiException {
+    public CompletableFuture<LocalEntryValue> getValue(String groupId, String nodeId, String localEntry)
+            throws ManagementApiException {
         log.debug("Fetching value of local entry " + localEntry + " in node " + nodeId + " of group " + groupId);
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
         String url = mgtApiUrl.concat("local-entries?name=").concat(localEntry);
-        CloseableHttpResponse httpResponse = Utils.doGet(groupId, nodeId, accessToken, url);
-        JsonObject jsonResponse = HttpUtils.getJsonResponse(httpResponse);
-        String value = jsonResponse.get("value").getAsString();
-        LocalEntryValue localEntryValue = new LocalEntryValue();
-        localEntryValue.setValue(value);
-        return localEntryValue;
+        return Utils.doGetAsync(groupId, nodeId, accessToken, url).thenApply(httpResponse -> {
+            JsonObject jsonResponse = HttpUtils.getJsonResponse(httpResponse);
+            String value = jsonResponse.get("value").getAsString();
+            LocalEntryValue localEntryValue = new LocalEntryValue();
+            localEntryValue.setValue(value);
+            return localEntryValue;
+        });
     }
 }
@@ -23,7 +23,6 @@ package org.wso2.ei.dashboard.micro.integrator.delegates;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.ei.dashboard.core.commons.Constants;
@@ -38,9 +37,12 @@ import org.wso2.ei.dashboard.core.rest.model.LogConfigUpdateRequest;
 import org.wso2.ei.dashboard.core.rest.model.LogConfigs;
 import org.wso2.ei.dashboard.core.rest.model.LogConfigsInner;
 import org.wso2.ei.dashboard.core.rest.model.NodeList;
-import org.wso2.ei.dashboard.core.rest.model.NodeListInner;
+import org.wso2.ei.dashboard.micro.integrator.commons.AccessTokenStore;
+import org.wso2.ei.dashboard.micro.integrator.commons.NodeBroadcaster;
 import org.wso2.ei.dashboard.micro.integrator.commons.Utils;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Delegate class to handle requests from log-configs page.
  */
@@ -48,93 +50,72 @@ public class LogConfigDelegate {
     private static final Logger logger = LogManager.getLogger(LogConfigDelegate.class);
     private final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
 
-    public LogConfigs fetchLogConfigs(String groupId) throws ManagementApiException {
+    public CompletableFuture<LogConfigs> fetchLogConfigs(String groupId) throws ManagementApiException {
         logger.debug("Fetching log configs via management api.");
-        JsonArray logConfigsArray = getLogConfigs(groupId);
-        return createLogConfigsObject(logConfigsArray);
+        return getLogConfigs(groupId).thenApply(this::createLogConfigsObject);
     }
 
-    public LogConfigs fetchLogConfigsByNodeId(String groupId, String nodeId) throws ManagementApiException {
+    public CompletableFuture<LogConfigs> fetchLogConfigsByNodeId(String groupId, String nodeId)
+            throws ManagementApiException {
         logger.debug("Fetching log configs in node " + nodeId + " in group " + groupId);
-        JsonArray logConfigsArray = getLogConfigByNodeId(groupId, nodeId);
-        return createLogConfigsObject(logConfigsArray);
+        return getLogConfigByNodeId(groupId, nodeId).thenApply(this::createLogConfigsObject);
     }
 
     public Ack updateLogLevel(String groupId, LogConfigUpdateRequest request) throws ManagementApiException {
         logger.debug("Updating logger " + request.getName() + " for all nodes in group " + groupId);
-        Ack ack = new Ack(Constants.FAIL_STATUS);
         JsonObject payload = createUpdateLoggerPayload(request);
-
         NodeList nodeList = databaseManager.fetchNodes(groupId);
-        for (NodeListInner node : nodeList) {
-            String nodeId = node.getNodeId();
-            CloseableHttpResponse httpResponse = updateLogLevelByNodeId(groupId, nodeId, payload);
+        return NodeBroadcaster.broadcast(groupId, nodeList,
+                                         nodeId -> updateLogLevelByNodeId(groupId, nodeId, payload));
+    }
 
+    public CompletableFuture<Ack> updateLogLevelByNodeId(String groupId, String nodeId,
+                                                         LogConfigUpdateRequest request)
+            throws ManagementApiException {
+        logger.debug("Updating logger " + request.getName() + " in node " + nodeId + " in group " + groupId);
+        JsonObject payload = createUpdateLoggerPayload(request);
+        String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
+        String updateLoggerUrl = mgtApiUrl.concat("logging");
+        return Utils.doPatchAsync(groupId, nodeId, accessToken, updateLoggerUrl, payload).thenApply(httpResponse -> {
+            Ack ack = new Ack(Constants.FAIL_STATUS);
             if (httpResponse.getStatusLine().getStatusCode() != 200) {
                 logger.error("Error occurred while updating logger on node " + nodeId + " in group " + groupId);
                 String message = HttpUtils.getJsonResponse(httpResponse).get("Error").getAsString();
                 ack.setMessage(message);
-                return ack;
+            } else {
+                ack.setStatus(Constants.SUCCESS_STATUS);
             }
-        }
-        ack.setStatus(Constants.SUCCESS_STATUS);
-        return ack;
-    }
-
-    public Ack updateLogLevelByNodeId(String groupId, String nodeId, LogConfigUpdateRequest request)
-            throws ManagementApiException {
-        logger.debug("Updating logger " + request.getName() + " in node " + nodeId + " in group " + groupId);
-        Ack ack = new Ack(Constants.FAIL_STATUS);
-        JsonObject payload = createUpdateLoggerPayload(request);
-        CloseableHttpResponse httpResponse = updateLogLevelByNodeId(groupId, nodeId, payload);
-        if (httpResponse.getStatusLine().getStatusCode() != 200) {
-            logger.error("Error occurred while updating logger on node " + nodeId + " in group " + groupId);
-            String message = HttpUtils.getJsonResponse(httpResponse).get("Error").getAsString();
-            ack.setMessage(message);
-        } else {
-            ack.setStatus(Constants.SUCCESS_STATUS);
-        }
-        return ack;
+            return ack;
+        });
     }
 
     public Ack addLogger(String groupId, LogConfigAddRequest request) throws ManagementApiException {
         logger.debug("Adding new Logger " + request.getName() + " for all nodes in group " + groupId);
-        Ack ack = new Ack(Constants.FAIL_STATUS);
         JsonObject payload = createAddLoggerPayload(request);
-
         NodeList nodeList = databaseManager.fetchNodes(groupId);
-
-        for (NodeListInner node : nodeList) {
-            String nodeId = node.getNodeId();
+        return NodeBroadcaster.broadcast(groupId, nodeList, nodeId -> {
             String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
-            String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+            String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
             String addLoggerUrl = mgtApiUrl.concat("logging");
             logger.debug("Adding new logger on node " + nodeId);
-            CloseableHttpResponse httpResponse = Utils.doPatch(groupId, nodeId, accessToken, addLoggerUrl, payload);
-            if (httpResponse.getStatusLine().getStatusCode() != 200) {
-                logger.error("Error occurred while adding logger on node " + nodeId + " in group " + groupId);
-                String message = HttpUtils.getJsonResponse(httpResponse).get("Error").getAsString();
-                ack.setMessage(message);
-                return ack;
-            }
-        }
-        ack.setStatus(Constants.SUCCESS_STATUS);
-        return ack;
+            Utils.doPatch(groupId, nodeId, accessToken, addLoggerUrl, payload, response -> null);
+        });
     }
 
-    private JsonArray getLogConfigs(String groupId) throws ManagementApiException {
+    private CompletableFuture<JsonArray> getLogConfigs(String groupId) throws ManagementApiException {
         NodeList nodeList = databaseManager.fetchNodes(groupId);
         // assumption - In a group, log configs of all nodes in the group should be identical
         String nodeId = nodeList.get(0).getNodeId();
         return getLogConfigByNodeId(groupId, nodeId);
     }
 
-    private JsonArray getLogConfigByNodeId(String groupId, String nodeId) throws ManagementApiException {
+    private CompletableFuture<JsonArray> getLogConfigByNodeId(String groupId, String nodeId)
+            throws ManagementApiException {
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
         String url = mgtApiUrl.concat("logging");
-        CloseableHttpResponse httpResponse = Utils.doGet(groupId, nodeId, accessToken, url);
-        return HttpUtils.getJsonArray(httpResponse);
+        return Utils.doGetAsync(groupId, nodeId, accessToken, url).thenApply(HttpUtils::getJsonArray);
     }
 
     private LogConfigs createLogConfigsObject(JsonArray logConfigsArray) {
@@ -170,13 +151,13 @@ public class LogConfigDelegate {
         return logConfigsInner;
     }
 
-    private CloseableHttpResponse updateLogLevelByNodeId(String groupId, String nodeId, JsonObject payload)
+    private void updateLogLevelByNodeId(String groupId, String nodeId, JsonObject payload)
             throws ManagementApiException {
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
         String updateLoggerUrl = mgtApiUrl.concat("logging");
         logger.debug("Updating logger on node " + nodeId);
-        return Utils.doPatch(groupId, nodeId, accessToken, updateLoggerUrl, payload);
+        Utils.doPatch(groupId, nodeId, accessToken, updateLoggerUrl, payload, response -> null);
     }
 }
 
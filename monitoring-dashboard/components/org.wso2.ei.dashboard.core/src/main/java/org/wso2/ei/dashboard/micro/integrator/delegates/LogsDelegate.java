@@ -25,88 +25,103 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.util.EntityUtils;
 import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
 import org.wso2.ei.dashboard.core.commons.utils.ManagementApiUtils;
-import org.wso2.ei.dashboard.core.db.manager.DatabaseManager;
-import org.wso2.ei.dashboard.core.db.manager.DatabaseManagerFactory;
 import org.wso2.ei.dashboard.core.exception.ManagementApiException;
 import org.wso2.ei.dashboard.core.rest.model.LogDetail;
 import org.wso2.ei.dashboard.core.rest.model.LogList;
 import org.wso2.ei.dashboard.core.rest.model.LogListInner;
+import org.wso2.ei.dashboard.micro.integrator.commons.AccessTokenStore;
+import org.wso2.ei.dashboard.micro.integrator.commons.LogFileStream;
+import org.wso2.ei.dashboard.micro.integrator.commons.LogTailer;
+import org.wso2.ei.dashboard.micro.integrator.commons.NodeBroadcaster;
 import org.wso2.ei.dashboard.micro.integrator.commons.Utils;
 
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
 
 /**
  * Delegate class to handle requests from log files page.
  */
 public class LogsDelegate {
     private static final Log log = LogFactory.getLog(LogsDelegate.class);
-    private final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
 
     public LogList getLogsList(String groupId, List<String> nodeList) throws ManagementApiException {
         log.debug("Fetching logs via management api.");
-        LogList logList = new LogList();
-        for (String nodeId : nodeList) {
-            JsonArray logsArray = getLogsArray(groupId, nodeId);
-            for (JsonElement jsonElement : logsArray) {
+        Map<String, JsonArray> logsArrays = NodeBroadcaster.query(groupId, nodeList,
+                                                                  nodeId -> getLogsArray(groupId, nodeId));
+        // Files are merged by name, keeping the order in which they were first listed by the nodes.
+        Map<String, LogListInner> logFiles = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonArray> entry : logsArrays.entrySet()) {
+            String nodeId = entry.getKey();
+            for (JsonElement jsonElement : entry.getValue()) {
                 JsonObject logObject = jsonElement.getAsJsonObject();
                 String fileName = logObject.get("FileName").getAsString();
-                String fileSize = logObject.get("Size").getAsString();
-                AtomicBoolean isRecordExist = new AtomicBoolean(false);
-                logList.stream().filter(o -> o.getName().equals(fileName)).forEach(
-                        o -> {
-                            LogDetail logDetail = new LogDetail();
-                            logDetail.setNodeId(nodeId);
-                            logDetail.setLogSize(fileSize);
-                            o.getNodes().add(logDetail);
-                            isRecordExist.set(true);
-                        });
-                if (!isRecordExist.get()) {
-                    LogListInner logListInner = new LogListInner();
-                    logListInner.setName(fileName);
-                    List<LogDetail> logDetailList = new ArrayList<>();
-                    LogDetail logDetail = new LogDetail();
-                    logDetail.setNodeId(nodeId);
-                    logDetail.setLogSize(fileSize);
-                    logDetailList.add(logDetail);
-                    logListInner.setNodes(logDetailList);
-                    logList.add(logListInner);
-                }
+                LogDetail logDetail = new LogDetail();
+                logDetail.setNodeId(nodeId);
+                logDetail.setLogSize(logObject.get("Size").getAsString());
+                logFiles.computeIfAbsent(fileName, this::createLogListInner).getNodes().add(logDetail);
             }
         }
+        LogList logList = new LogList();
+        logList.addAll(logFiles.values());
         return logList;
     }
 
+    private LogListInner createLogListInner(String fileName) {
+        LogListInner logListInner = new LogListInner();
+        logListInner.setName(fileName);
+        logListInner.setNodes(new ArrayList<>());
+        return logListInner;
+    }
+
     private JsonArray getLogsArray(String groupId, String nodeId) throws ManagementApiException {
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
         String url = mgtApiUrl.concat("logs");
-        CloseableHttpResponse httpResponse = Utils.doGet(groupId, nodeId, accessToken, url);
-        return HttpUtils.getJsonResponse(httpResponse).getAsJsonArray("list");
+        return Utils.doGet(groupId, nodeId, accessToken, url,
+                           httpResponse -> HttpUtils.getJsonResponse(httpResponse).getAsJsonArray("list"));
     }
 
-    public String getLogByName(String groupId, String nodeId, String fileName) throws ManagementApiException {
+    /**
+     * Opens a log file of a node as a stream. The file is not read until the stream is written to the client.
+     *
+     * @param groupId  group id of the node
+     * @param nodeId   node id
+     * @param fileName name of the log file
+     * @param range    value of the Range header of the client request, or null to fetch the whole file
+     * @param gzip     whether the client accepts gzip encoded content
+     * @return stream of the log file
+     * @throws ManagementApiException if the log file could not be fetched from the node
+     */
+    public LogFileStream getLogByName(String groupId, String nodeId, String fileName, String range, boolean gzip)
+            throws ManagementApiException {
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
         String url = mgtApiUrl.concat("logs?file=").concat(fileName);
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
-        CloseableHttpResponse httpResponse = Utils.doGet(groupId, nodeId, accessToken, url);
-        HttpEntity responseEntity = httpResponse.getEntity();
-        String response = "";
-        if (responseEntity != null) {
-            try {
-                response = EntityUtils.toString(responseEntity);
-            } catch (IOException e) {
-                log.error(e.getMessage());
-            }
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
+        // The range is sent to the node, so that it only transfers the requested bytes.
+        CloseableHttpResponse httpResponse = Utils.doGetStream(groupId, nodeId, accessToken, url, range);
+        return LogFileStream.create(httpResponse, range, gzip);
+    }
 
-        }
-        return response;
+    /**
+     * Subscribes a client to the lines appended to a log file of a node. Clients tailing the same file share the
+     * requests polling the node.
+     *
+     * @param groupId  group id of the node
+     * @param nodeId   node id
+     * @param fileName name of the log file
+     * @param sink     event sink of the client
+     * @param sse      server-sent events context
+     */
+    public void tailLog(String groupId, String nodeId, String fileName, SseEventSink sink, Sse sse) {
+        log.debug("Tailing log file " + fileName + " in node " + nodeId + " in group " + groupId);
+        LogTailer.subscribe(groupId, nodeId, fileName,
+                            range -> getLogByName(groupId, nodeId, fileName, range, false), sink, sse);
     }
 }
@@ -25,7 +25,6 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.wso2.ei.dashboard.core.commons.Constants;
 import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
 import org.wso2.ei.dashboard.core.commons.utils.ManagementApiUtils;
@@ -37,8 +36,13 @@ import org.wso2.ei.dashboard.core.rest.model.AddUserRequest;
 import org.wso2.ei.dashboard.core.rest.model.NodeList;
 import org.wso2.ei.dashboard.core.rest.model.Users;
 import org.wso2.ei.dashboard.core.rest.model.UsersInner;
+import org.wso2.ei.dashboard.micro.integrator.commons.AccessTokenStore;
 import org.wso2.ei.dashboard.micro.integrator.commons.Utils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Delegate class to handle requests from users page.
  */
@@ -47,45 +51,44 @@ public class UsersDelegate {
     private final DatabaseManager databaseManager = DatabaseManagerFactory.getDbManager();
     private static final String DOMAIN_SEPARATOR = "/";
 
-    public Users fetchUsers(String groupId) throws ManagementApiException {
+    public CompletableFuture<Users> fetchUsers(String groupId) throws ManagementApiException {
         log.debug("Fetching users via management api.");
         return getUsers(groupId);
     }
 
-    public Ack addUser(String groupId, AddUserRequest request) throws ManagementApiException {
+    public CompletableFuture<Ack> addUser(String groupId, AddUserRequest request) throws ManagementApiException {
         log.debug("Adding user " + request.getUserId() + " in group " + groupId);
-        Ack ack = new Ack(Constants.FAIL_STATUS);
         JsonObject payload = createAddUserPayload(request);
 
         NodeList nodeList = databaseManager.fetchNodes(groupId);
         // assumption - In a group, all nodes use a shared user-store
         String nodeId = nodeList.get(0).getNodeId();
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
         String url = mgtApiUrl.concat("users");
-        Utils.doPost(groupId, nodeId, accessToken, url, payload);
-        ack.setStatus(Constants.SUCCESS_STATUS);
-        return ack;
+        return Utils.doPostAsync(groupId, nodeId, accessToken, url, payload)
+                    .thenApply(httpResponse -> new Ack(Constants.SUCCESS_STATUS));
     }
 
-    public Ack deleteUser(String groupId, String userId) throws ManagementApiException {
+    public CompletableFuture<Ack> deleteUser(String groupId, String userId) throws ManagementApiException {
         log.debug("Deleting user " + userId + " in group " + groupId);
-        Ack ack = new Ack(Constants.FAIL_STATUS);
         NodeList nodeList = databaseManager.fetchNodes(groupId);
         // assumption - In a group, all nodes use a shared user-store
         String nodeId = nodeList.get(0).getNodeId();
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
         String url = mgtApiUrl.concat("users/").concat(userId);
-        CloseableHttpResponse httpResponse = Utils.doDelete(groupId, nodeId, accessToken, url);
-        if (httpResponse.getStatusLine().getStatusCode() != 200) {
-            log.error("Error occurred while deleting user " + userId + " in group " + groupId);
-            String message = HttpUtils.getJsonResponse(httpResponse).get("Error").getAsString();
-            ack.setMessage(message);
+        return Utils.doDeleteAsync(groupId, nodeId, accessToken, url).thenApply(httpResponse -> {
+            Ack ack = new Ack(Constants.FAIL_STATUS);
+            if (httpResponse.getStatusLine().getStatusCode() != 200) {
+                log.error("Error occurred while deleting user " + userId + " in group " + groupId);
+                String message = HttpUtils.getJsonResponse(httpResponse).get("Error").getAsString();
+                ack.setMessage(message);
+                return ack;
+            }
+            ack.setStatus(Constants.SUCCESS_STATUS);
             return ack;
-        }
-        ack.setStatus(Constants.SUCCESS_STATUS);
-        return ack;
+        });
     }
 
     private JsonObject createAddUserPayload(AddUserRequest request) {
@@ -96,25 +99,32 @@ public class UsersDelegate {
         return payload;
     }
 
-    private Users getUsers(String groupId) throws ManagementApiException {
-        Users users = new Users();
+    private CompletableFuture<Users> getUsers(String groupId) throws ManagementApiException {
         NodeList nodeList = databaseManager.fetchNodes(groupId);
         // assumption - In a group, users of all nodes in the group should be identical
         String nodeId = nodeList.get(0).getNodeId();
         String mgtApiUrl = ManagementApiUtils.getMgtApiUrl(groupId, nodeId);
-        String accessToken = databaseManager.getAccessToken(groupId, nodeId);
+        String accessToken = AccessTokenStore.getAccessToken(groupId, nodeId);
         String url = mgtApiUrl.concat("users/");
-        CloseableHttpResponse httpResponse = Utils.doGet(groupId, nodeId, accessToken, url);
-        JsonArray userList = HttpUtils.getJsonResponse(httpResponse).get("list").getAsJsonArray();
-        for (JsonElement user : userList) {
-            UsersInner usersInner = getUserDetails(groupId, nodeId, accessToken, url, user);
-            users.add(usersInner);
-        }
-        return users;
+        return Utils.doGetAsync(groupId, nodeId, accessToken, url).thenCompose(httpResponse -> {
+            JsonArray userList = HttpUtils.getJsonResponse(httpResponse).get("list").getAsJsonArray();
+            // user details are independent of each other, hence fetched concurrently
+            List<CompletableFuture<UsersInner>> userDetails = new ArrayList<>();
+            for (JsonElement user : userList) {
+                userDetails.add(getUserDetails(groupId, nodeId, accessToken, url, user));
+            }
+            return CompletableFuture.allOf(userDetails.toArray(new CompletableFuture[0])).thenApply(done -> {
+                Users users = new Users();
+                for (CompletableFuture<UsersInner> userDetail : userDetails) {
+                    users.add(userDetail.join());
+                }
+                return users;
+            });
+        });
     }
 
-    private UsersInner getUserDetails(String groupId, String nodeId, String accessToken, String url, JsonElement user)
-            throws ManagementApiException {
+    private CompletableFuture<UsersInner> getUserDetails(String groupId, String nodeId, String accessToken,
+                                                         String url, JsonElement user) {
         String userId = user.getAsJsonObject().get("userId").getAsString();
         UsersInner usersInner = new UsersInner();
         usersInner.setUserId(userId);
@@ -126,9 +136,9 @@ public class UsersDelegate {
         } else {
             getUsersDetailsUrl = url.concat(userId);
         }
-        CloseableHttpResponse userDetailResponse = Utils.doGet(groupId, nodeId, accessToken, getUsersDetailsUrl);
-        String userDetail = HttpUtils.getStringResponse(userDetailResponse);
-        usersInner.setDetails(userDetail);
-        return usersInner;
+        return Utils.doGetAsync(groupId, nodeId, accessToken, getUsersDetailsUrl).thenApply(userDetailResponse -> {
+            usersInner.setDetails(HttpUtils.getStringResponse(userDetailResponse));
+            return usersInner;
+        });
     }
 }
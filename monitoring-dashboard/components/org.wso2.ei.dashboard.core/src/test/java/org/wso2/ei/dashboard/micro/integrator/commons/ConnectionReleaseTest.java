@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.ei.dashboard.micro.integrator.commons;
+
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ei.dashboard.core.commons.utils.HttpUtils;
+import org.wso2.ei.dashboard.core.exception.ManagementApiException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Checks that management API requests return their connection to the pool, whether the node answers successfully,
+ * the response handler fails or the node answers with an error. The requests are sent to a local stub micro
+ * integrator.
+ */
+public class ConnectionReleaseTest {
+
+    private static final String GROUP_ID = "test_group";
+    private static final String NODE_ID = "test_node";
+    private static final String ACCESS_TOKEN = "access_token";
+    private static final String ERROR_MESSAGE = "Proxy service not found";
+
+    private HttpServer server;
+    private String mgtApiUrl;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        JsonObject proxyList = new JsonObject();
+        proxyList.addProperty("count", 0);
+        JsonObject error = new JsonObject();
+        error.addProperty("Error", ERROR_MESSAGE);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/management/proxy-services", exchange -> respond(exchange, 200, proxyList.toString()));
+        server.createContext("/management/malformed", exchange -> respond(exchange, 200, "{\"list\": ["));
+        server.createContext("/management/error", exchange -> respond(exchange, 500, error.toString()));
+        server.start();
+        mgtApiUrl = "http://localhost:" + server.getAddress().getPort() + "/management/";
+    }
+
+    @AfterClass
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testSuccessfulResponse() throws ManagementApiException {
+        JsonObject proxyList = Utils.doGet(GROUP_ID, NODE_ID, ACCESS_TOKEN, mgtApiUrl + "proxy-services",
+                                           HttpUtils::getJsonResponse);
+        Assert.assertEquals(proxyList.get("count").getAsInt(), 0);
+        assertNoLeasedConnections();
+    }
+
+    @Test
+    public void testFailingHandler() throws ManagementApiException {
+        try {
+            Utils.doGet(GROUP_ID, NODE_ID, ACCESS_TOKEN, mgtApiUrl + "malformed", HttpUtils::getJsonResponse);
+            Assert.fail("Malformed response of the node was parsed.");
+        } catch (RuntimeException e) {
+            assertNoLeasedConnections();
+        }
+    }
+
+    @Test
+    public void testErrorResponse() {
+        try {
+            Utils.doGet(GROUP_ID, NODE_ID, ACCESS_TOKEN, mgtApiUrl + "error", HttpUtils::getJsonResponse);
+            Assert.fail("Error response of the node was not reported.");
+        } catch (ManagementApiException e) {
+            Assert.assertEquals(e.getErrorCode(), 500);
+            Assert.assertEquals(e.getMessage(), ERROR_MESSAGE);
+            assertNoLeasedConnections();
+        }
+    }
+
+    @Test
+    public void testErrorResponseOfStream() {
+        try {
+            Utils.doGetStream(GROUP_ID, NODE_ID, ACCESS_TOKEN, mgtApiUrl + "error", null);
+            Assert.fail("Error response of the node was not reported.");
+        } catch (ManagementApiException e) {
+            Assert.assertEquals(e.getErrorCode(), 500);
+            assertNoLeasedConnections();
+        }
+    }
+
+    private static void assertNoLeasedConnections() {
+        Assert.assertEquals(HttpUtils.getPoolStats().getLeased(), 0, "Connections were not returned to the pool.");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
@@ -25,4 +25,32 @@ public final class Constants {
     }
 
     public static final String HEARTBEAT_POOL_SIZE = "heartbeat_pool_size";
+    public static final String ARTIFACT_SYNC_POOL_SIZE = "artifact_sync_pool_size";
+    public static final String NODE_BROADCAST_POOL_SIZE = "node_broadcast_pool_size";
+    public static final String NODE_BROADCAST_TIMEOUT = "node_broadcast_timeout";
+    public static final String LOG_TAIL_POOL_SIZE = "log_tail_pool_size";
+    public static final String LOG_TAIL_POLL_INTERVAL = "log_tail_poll_interval";
+    public static final String ARTIFACT_RETRY_QUEUE_SIZE = "artifact_retry_queue_size";
+    public static final String ARTIFACT_RETRY_MAX_ATTEMPTS = "artifact_retry_max_attempts";
+    public static final String ARTIFACT_RETRY_INITIAL_DELAY = "artifact_retry_initial_delay";
+    public static final String ARTIFACT_RETRY_MAX_DELAY = "artifact_retry_max_delay";
+    public static final String MAX_CONCURRENT_REQUESTS_PER_NODE = "max_concurrent_requests_per_node";
+    public static final String VIRTUAL_THREADS_ENABLED = "virtual_threads_enabled";
+
+    public static final String MGT_API_MAX_CONNECTIONS = "mgt_api_max_connections";
+    public static final String MGT_API_MAX_CONNECTIONS_PER_NODE = "mgt_api_max_connections_per_node";
+    public static final String MGT_API_IDLE_CONNECTION_TIMEOUT = "mgt_api_idle_connection_timeout";
+    public static final String MGT_API_KEEP_ALIVE_TIMEOUT = "mgt_api_keep_alive_timeout";
+    public static final String MGT_API_CONNECTION_REQUEST_TIMEOUT = "mgt_api_connection_request_timeout";
+    public static final String MGT_API_TOKEN_REFRESH_BEFORE_EXPIRY = "mgt_api_token_refresh_before_expiry";
+    public static final String MGT_API_CONNECT_TIMEOUT = "mgt_api_connect_timeout";
+    public static final String MGT_API_SOCKET_TIMEOUT = "mgt_api_socket_timeout";
+
+    public static final String CIRCUIT_BREAKER_WINDOW_SIZE = "circuit_breaker_window_size";
+    public static final String CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = "circuit_breaker_failure_rate_threshold";
+    public static final String CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD = "circuit_breaker_slow_call_threshold";
+    public static final String CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD = "circuit_breaker_slow_call_rate_threshold";
+    public static final String CIRCUIT_BREAKER_OPEN_DURATION = "circuit_breaker_open_duration";
+
+    public static final String CAPPS_CACHE_TTL = "capps_cache_ttl";
 }
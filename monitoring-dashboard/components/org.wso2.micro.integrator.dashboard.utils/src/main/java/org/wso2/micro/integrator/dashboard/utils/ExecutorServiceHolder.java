@@ -19,18 +19,111 @@ package org.wso2.micro.integrator.dashboard.utils;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Holds the executor services of the dashboard server.
  */
 public class ExecutorServiceHolder {
+    // Token refreshes are single-flight per node, hence a few threads are enough.
+    private static final int TOKEN_REFRESH_POOL_SIZE = 2;
     private static final int heartbeatPoolSize = Integer.parseInt(System.getProperty(Constants.HEARTBEAT_POOL_SIZE));
-    private static ExecutorService miArtifactsManagerExecutorService = Executors.newFixedThreadPool(heartbeatPoolSize);
+    private static final int artifactSyncPoolSize =
+            Integer.parseInt(System.getProperty(Constants.ARTIFACT_SYNC_POOL_SIZE));
+    private static final int nodeBroadcastPoolSize =
+            Integer.parseInt(System.getProperty(Constants.NODE_BROADCAST_POOL_SIZE));
+    private static final int logTailPoolSize = Integer.parseInt(System.getProperty(Constants.LOG_TAIL_POOL_SIZE));
+    private static ExecutorService miArtifactsManagerExecutorService =
+            VirtualThreads.isEnabled() ? VirtualThreads.newThreadPerTaskExecutor("artifacts-manager-")
+                                       : Executors.newFixedThreadPool(heartbeatPoolSize);
+    private static ExecutorService artifactSyncExecutorService =
+            VirtualThreads.isEnabled() ? VirtualThreads.newThreadPerTaskExecutor("artifact-sync-")
+                                       : Executors.newFixedThreadPool(artifactSyncPoolSize);
+    private static ExecutorService nodeLivenessExecutorService = Executors.newSingleThreadExecutor();
+    private static ExecutorService nodeBroadcastExecutorService = Executors.newFixedThreadPool(nodeBroadcastPoolSize);
+    private static ScheduledExecutorService logTailExecutorService = Executors.newScheduledThreadPool(logTailPoolSize);
+    private static ScheduledExecutorService jwksRefreshExecutorService = Executors.newSingleThreadScheduledExecutor();
+    private static ExecutorService artifactRetryExecutorService = Executors.newSingleThreadExecutor();
+    private static ExecutorService tokenRefreshExecutorService = Executors.newFixedThreadPool(TOKEN_REFRESH_POOL_SIZE);
 
     private ExecutorServiceHolder() {
     }
 
+    /**
+     * Returns the executor service which runs the artifact syncs triggered by heartbeats. When virtual threads are
+     * enabled each sync runs on its own virtual thread, and the management API calls of a sync are capped per node
+     * instead of by the pool size.
+     *
+     * @return artifacts manager executor service
+     */
     public static ExecutorService getMiArtifactsManagerExecutorService() {
         return miArtifactsManagerExecutorService;
     }
+
+    /**
+     * Returns the executor service which runs the individual management API calls of an artifact sync. Tasks are
+     * submitted to this pool by the sync coordinators running in the artifacts manager executor service.
+     *
+     * @return artifact sync executor service
+     */
+    public static ExecutorService getArtifactSyncExecutorService() {
+        return artifactSyncExecutorService;
+    }
+
+    /**
+     * Returns the single threaded executor service which runs the sweeper expiring nodes that stopped sending
+     * heartbeats.
+     *
+     * @return node liveness executor service
+     */
+    public static ExecutorService getNodeLivenessExecutorService() {
+        return nodeLivenessExecutorService;
+    }
+
+    /**
+     * Returns the executor service which sends the per node requests of an operation applied to all nodes of a group.
+     *
+     * @return node broadcast executor service
+     */
+    public static ExecutorService getNodeBroadcastExecutorService() {
+        return nodeBroadcastExecutorService;
+    }
+
+    /**
+     * Returns the executor service which polls the nodes for new lines of the log files tailed by dashboard clients.
+     *
+     * @return log tail executor service
+     */
+    public static ScheduledExecutorService getLogTailExecutorService() {
+        return logTailExecutorService;
+    }
+
+    /**
+     * Returns the single threaded executor service which refreshes the cached signing keys of the identity provider.
+     *
+     * @return JWKS refresh executor service
+     */
+    public static ScheduledExecutorService getJwksRefreshExecutorService() {
+        return jwksRefreshExecutorService;
+    }
+
+    /**
+     * Returns the single threaded executor service which runs the worker retrying failed artifact syncs.
+     *
+     * @return artifact retry executor service
+     */
+    public static ExecutorService getArtifactRetryExecutorService() {
+        return artifactRetryExecutorService;
+    }
+
+    /**
+     * Returns the executor service which logs in to the nodes to refresh their management API access tokens. The
+     * refreshes do not share a pool with the requests waiting for them, so that a waiting request cannot hold the
+     * thread its refresh is queued for.
+     *
+     * @return token refresh executor service
+     */
+    public static ExecutorService getTokenRefreshExecutorService() {
+        return tokenRefreshExecutorService;
+    }
 }
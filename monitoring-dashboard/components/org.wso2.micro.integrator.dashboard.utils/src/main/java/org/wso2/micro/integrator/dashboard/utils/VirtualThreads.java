@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.micro.integrator.dashboard.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates executor services running each task on a new virtual thread. The dashboard is built for Java 8, hence the
+ * virtual thread API is looked up reflectively and is only available when the server runs on Java 21 or later. The
+ * whole API is looked up once, so that a JVM missing any part of it is reported as not supporting virtual threads and
+ * the callers fall back to their thread pools.
+ */
+public final class VirtualThreads {
+
+    private static final String BUILDER_CLASS = "java.lang.Thread$Builder";
+    private static final Method OF_VIRTUAL = getMethod(Thread.class.getName(), "ofVirtual");
+    private static final Method NAME = getMethod(BUILDER_CLASS, "name", String.class, long.class);
+    private static final Method FACTORY = getMethod(BUILDER_CLASS, "factory");
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR =
+            getMethod(Executors.class.getName(), "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether virtual threads are enabled in the deployment.toml and supported by the running JVM.
+     *
+     * @return true if blocking tasks should run on virtual threads
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(Constants.VIRTUAL_THREADS_ENABLED) && isSupported();
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && NAME != null && FACTORY != null && NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor service which starts a new virtual thread for each task. The executor service does not
+     * bound the number of concurrent tasks, callers are expected to cap the tasks they submit per node. Callers
+     * have to check {@link #isSupported()} first.
+     *
+     * @param namePrefix prefix of the thread names, followed by a counter
+     * @return executor service running tasks on virtual threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads are not supported by the running JVM.");
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) FACTORY.invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            // The API has been found, hence this is not expected to happen.
+            throw new IllegalStateException("Error occurred while creating a virtual thread executor.", e);
+        }
+    }
+
+    private static Method getMethod(String className, String name, Class<?>... parameterTypes) {
+        try {
+            return Class.forName(className).getMethod(name, parameterTypes);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -126,3 +126,18 @@ CREATE TABLE IF NOT EXISTS DATA_SOURCES(
     DETAILS VARCHAR (5000),
     PRIMARY KEY (GROUP_ID, NODE_ID, NAME)
 );
+
+CREATE INDEX IF NOT EXISTS IDX_PROXY_SERVICES_NAME ON PROXY_SERVICES (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_ENDPOINTS_NAME ON ENDPOINTS (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_APIS_NAME ON APIS (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_TEMPLATES_NAME ON TEMPLATES (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_SEQUENCES_NAME ON SEQUENCES (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_INBOUND_ENDPOINTS_NAME ON INBOUND_ENDPOINTS (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_MESSAGE_STORES_NAME ON MESSAGE_STORES (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_MESSAGE_PROCESSORS_NAME ON MESSAGE_PROCESSORS (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_TASKS_NAME ON TASKS (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_LOCAL_ENTRIES_NAME ON LOCAL_ENTRIES (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_CONNECTORS_NAME ON CONNECTORS (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_CARBON_APPS_NAME ON CARBON_APPS (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_DATA_SERVICES_NAME ON DATA_SERVICES (GROUP_ID, NAME);
+CREATE INDEX IF NOT EXISTS IDX_DATA_SOURCES_NAME ON DATA_SOURCES (GROUP_ID, NAME);